@@ -0,0 +1,98 @@
+package ureca.practice.elasticsearchpractice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
+import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 엔티티 → 문서, 엔티티/문서 → 응답 DTO 변환과 검색 결과 페이지 JSON 직렬화 비용.
+ * serializePage(전체 본문)와 serializeSearchPage(snippet만)를 비교하면 목록 응답을 줄인 효과를 볼 수 있습니다.
+ * indexSource는 색인 요청마다 드는 문서 → _source 변환 비용(날짜 포맷 포함)입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FeedMappingBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private TransactionFeed entity;
+    private TransactionFeedDocument document;
+    private PageImpl<FeedDto.Response> page;
+    private PageImpl<FeedDto.SearchItem> searchPage;
+    private ObjectMapper objectMapper;
+    private ElasticsearchConverter converter;
+
+    @Setup
+    public void setUp() {
+        entity = TransactionFeed.builder()
+                .transactionFeedId("0b7e1f7c-3f4a-4b8e-9a51-6c2d0f1e2a3b")
+                .sellerId("데이터판매왕")
+                .telecomCompanyId("SKT")
+                .title("SKT 10GB 데이터 팝니다")
+                .content("SKT 데이터 10기가 저렴하게 팔아요. ".repeat(20))
+                .salesPrice(18000L)
+                .salesDataAmount(10000)
+                .progress("SELLING")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        document = TransactionFeedDocument.from(entity);
+        List<FeedDto.Response> content = IntStream.range(0, pageSize).mapToObj(i -> FeedDto.Response.from(document)).toList();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000);
+        String snippet = document.getContent().substring(0, 120);
+        List<FeedDto.SearchItem> items = IntStream.range(0, pageSize).mapToObj(i -> FeedDto.SearchItem.from(document, snippet)).toList();
+        searchPage = new PageImpl<>(items, PageRequest.of(0, pageSize), 1_000);
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        MappingElasticsearchConverter mappingConverter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        mappingConverter.afterPropertiesSet();
+        converter = mappingConverter;
+    }
+
+    @Benchmark
+    public TransactionFeedDocument documentFromEntity() {
+        return TransactionFeedDocument.from(entity);
+    }
+
+    @Benchmark
+    public Document indexSource() {
+        return converter.mapObject(document);
+    }
+
+    @Benchmark
+    public FeedDto.Response responseFromEntity() {
+        return FeedDto.Response.from(entity);
+    }
+
+    @Benchmark
+    public FeedDto.Response responseFromDocument() {
+        return FeedDto.Response.from(document);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeSearchPage() throws Exception {
+        return objectMapper.writeValueAsBytes(searchPage);
+    }
+}
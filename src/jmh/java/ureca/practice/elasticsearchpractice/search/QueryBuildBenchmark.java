@@ -0,0 +1,56 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * unifiedSearch의 쿼리 생성 비용. 캐시 미스(파싱 + bool 쿼리 생성)와 캐시 적중, NativeQuery 조립을 따로 잽니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryBuildBenchmark {
+
+    @Param({"SKT", "데이터 급처 저렴하게", "SKT 10기가", "에스케이티 10 GB 판매중 1만원이하 급처"})
+    private String rawQuery;
+
+    private FeedQueryCompiler compiler;
+    private String normalizedQuery;
+
+    @Setup
+    public void setUp() {
+        compiler = new FeedQueryCompiler(new FeedSearchProperties());
+        normalizedQuery = FeedQueryParser.normalize(rawQuery);
+        compiler.compile(rawQuery);
+    }
+
+    @Benchmark
+    public CompiledQuery buildUncached() {
+        return compiler.build(FeedQueryParser.normalize(rawQuery));
+    }
+
+    @Benchmark
+    public ParsedQuery parseOnly() {
+        return new FeedQueryParser().parse(normalizedQuery);
+    }
+
+    @Benchmark
+    public CompiledQuery compileCached() {
+        return compiler.compile(rawQuery);
+    }
+
+    @Benchmark
+    public NativeQuery nativeQueryCached() {
+        return NativeQuery.builder()
+                .withQuery(compiler.compile(rawQuery).query())
+                .withPageable(PageRequest.of(0, 10))
+                .withSort(Sort.by(Sort.Direction.DESC, "_score"))
+                .withSort(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .build();
+    }
+}
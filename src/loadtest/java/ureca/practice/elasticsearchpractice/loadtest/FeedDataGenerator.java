@@ -0,0 +1,116 @@
+package ureca.practice.elasticsearchpractice.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * DummyDataInit의 더미 데이터와 같은 분포(통신사 비율, 데이터 크기, 가격대, 판매 상태, 한국어 문구)로 게시글을 만들어냅니다.
+ */
+class FeedDataGenerator {
+
+    // DummyDataInit 기준 SKT 8 : KT 7 : LGU 5
+    private static final String[] TELECOMS = {"SKT", "SKT", "SKT", "SKT", "SKT", "SKT", "SKT", "SKT",
+            "KT", "KT", "KT", "KT", "KT", "KT", "KT", "LGU", "LGU", "LGU", "LGU", "LGU"};
+    private static final int[] DATA_SIZES_MB = {500, 500, 500, 1000, 1000, 2000, 2000, 2000, 3000,
+            5000, 5000, 5000, 7000, 10000, 10000, 15000, 20000, 24000};
+    private static final String[] TELECOM_NAMES_SKT = {"SKT", "에스케이티", "스크"};
+    private static final String[] TELECOM_NAMES_KT = {"KT", "케이티", "올레"};
+    private static final String[] TELECOM_NAMES_LGU = {"LGU", "LG U+", "유플러스", "엘지"};
+
+    private static final String[] TITLE_TEMPLATES = {
+            "%s %s 데이터 팝니다", "%s 데이터 %s 급처", "%s %s 선물용", "%s %s 저렴하게 판매",
+            "%s 데이터 %s 대용량", "%s %s 나눔해요", "%s %s 소량 데이터 급처"
+    };
+    private static final String[] CONTENT_SENTENCES = {
+            "바로 거래 가능합니다.", "연락주세요.", "저렴하게 팔아요.", "급하게 처분합니다.",
+            "데이터 걱정 끝!", "구매 확정 대기중입니다.", "선물하실 분 구해요.", "넉넉해요.",
+            "필요하신 분?", "시세보다 싸게 드려요."
+    };
+    private static final String[] SELLER_PREFIXES = {"데이터", "빠른", "저렴한", "SKT", "올레", "유플", "케이티", "LG"};
+    private static final String[] SELLER_SUFFIXES = {"판매왕", "요정", "거래", "천사", "부자", "맨", "팬", "사랑", "만세"};
+
+    private final RandomGenerator random;
+
+    FeedDataGenerator(RandomGenerator random) {
+        this.random = random;
+    }
+
+    // 부하 테스트 작업자들이 함께 쓰므로 동기화 (RandomGenerator 구현은 스레드 안전하지 않음)
+    synchronized Feed next() {
+        String telecom = pick(TELECOMS);
+        int dataSizeMb = DATA_SIZES_MB[random.nextInt(DATA_SIZES_MB.length)];
+        // 더미 데이터의 MB당 가격은 약 1.7~1.9원
+        long price = Math.round(dataSizeMb * (1.6 + random.nextDouble() * 0.4) / 100) * 100;
+        String progress = progress();
+        String size = sizeText(dataSizeMb);
+
+        String title = String.format(pick(TITLE_TEMPLATES), telecomName(telecom), size);
+        StringBuilder content = new StringBuilder(telecomName(telecom)).append(' ').append(sizeText(dataSizeMb)).append(' ');
+        int sentences = 1 + random.nextInt(4);
+        for (int i = 0; i < sentences; i++) {
+            content.append(pick(CONTENT_SENTENCES)).append(' ');
+        }
+        String seller = pick(SELLER_PREFIXES) + pick(SELLER_SUFFIXES) + random.nextInt(10_000);
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 365));
+
+        return new Feed(UUID.randomUUID().toString(), seller, telecom, title, content.toString().trim(),
+                price, dataSizeMb, progress, createdAt);
+    }
+
+    // 검색어 후보: 인기 순위는 Zipf 분포로 뽑히므로 앞쪽일수록 자주 쓰임
+    synchronized List<String> queryVocabulary() {
+        List<String> queries = new ArrayList<>();
+        for (String telecom : new String[]{"SKT", "KT", "LGU"}) {
+            queries.add(telecom);
+            for (int size : new int[]{10000, 5000, 2000, 1000, 500, 20000}) {
+                queries.add(telecom + " " + sizeText(size));
+            }
+            queries.add(telecom + " 데이터 급처");
+        }
+        for (int size : new int[]{10000, 5000, 2000, 1000, 500}) {
+            queries.add(sizeText(size));
+        }
+        for (String word : new String[]{"데이터", "급처", "선물", "대용량", "저렴", "나눔", "예약중", "판매중"}) {
+            queries.add(word);
+            queries.add(word + " " + sizeText(DATA_SIZES_MB[random.nextInt(DATA_SIZES_MB.length)]));
+        }
+        for (String prefix : SELLER_PREFIXES) {
+            queries.add(prefix + SELLER_SUFFIXES[random.nextInt(SELLER_SUFFIXES.length)]);
+        }
+        Collections.shuffle(queries, new Random(random.nextLong()));
+        return queries;
+    }
+
+    private String progress() {
+        int roll = random.nextInt(100);
+        return roll < 70 ? "SELLING" : roll < 85 ? "RESERVED" : "SOLD_OUT";
+    }
+
+    private String telecomName(String telecom) {
+        return switch (telecom) {
+            case "SKT" -> pick(TELECOM_NAMES_SKT);
+            case "KT" -> pick(TELECOM_NAMES_KT);
+            default -> pick(TELECOM_NAMES_LGU);
+        };
+    }
+
+    private String sizeText(int dataSizeMb) {
+        if (dataSizeMb < 1000) {
+            return dataSizeMb + (random.nextBoolean() ? "MB" : "메가");
+        }
+        return dataSizeMb / 1000 + (random.nextBoolean() ? "GB" : "기가");
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    record Feed(String id, String sellerId, String telecomCompanyId, String title, String content,
+                long salesPrice, int salesDataAmount, String progress, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,69 @@
+package ureca.practice.elasticsearchpractice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+
+/**
+ * 생성한 게시글을 MySQL transaction_feed 테이블에 JDBC batch로 직접 넣고,
+ * 애플리케이션의 재색인 API를 호출해 ES에도 한 번에 적재합니다.
+ * 테이블은 애플리케이션을 한 번 띄워 ddl-auto로 만들어 둔 상태여야 합니다.
+ */
+class FeedSeeder {
+
+    private static final String INSERT_SQL = "insert into transaction_feed " +
+            "(transaction_feed_id, seller_id, telecom_company_id, title, content, sales_price, sales_data_amount, " +
+            "progress, created_at, updated_at, is_deleted) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+    private static final int BATCH_SIZE = 1_000;
+
+    private final LoadTestOptions options;
+
+    FeedSeeder(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    void seed(FeedDataGenerator generator) throws Exception {
+        long started = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(options.jdbcUrl(), options.jdbcUser(), options.jdbcPassword());
+             PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+            connection.setAutoCommit(false);
+            for (long i = 1; i <= options.rows(); i++) {
+                FeedDataGenerator.Feed feed = generator.next();
+                ps.setString(1, feed.id());
+                ps.setString(2, feed.sellerId());
+                ps.setString(3, feed.telecomCompanyId());
+                ps.setString(4, feed.title());
+                ps.setString(5, feed.content());
+                ps.setLong(6, feed.salesPrice());
+                ps.setInt(7, feed.salesDataAmount());
+                ps.setString(8, feed.progress());
+                ps.setTimestamp(9, Timestamp.valueOf(feed.createdAt()));
+                ps.setTimestamp(10, Timestamp.valueOf(feed.createdAt()));
+                ps.addBatch();
+                if (i % BATCH_SIZE == 0 || i == options.rows()) {
+                    ps.executeBatch();
+                    connection.commit();
+                }
+                if (i % 100_000 == 0) {
+                    System.out.printf("  %,d건 저장%n", i);
+                }
+            }
+        }
+        System.out.printf("MySQL 적재 완료: %,d건 (%.1fs)%n", options.rows(), (System.nanoTime() - started) / 1e9);
+
+        if (options.reindex()) {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create(options.baseUrl() + "/api/admin/indexing/reindex"))
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            System.out.println("재색인 요청: " + response.statusCode() + " " + response.body());
+            System.out.println("진행 상황: GET " + options.baseUrl() + "/api/admin/indexing/reindex");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ureca.practice.elasticsearchpractice.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * 부하 테스트 진입점.
+ * 1) docker compose up -d 로 ES(nori)와 MySQL을 띄우고 애플리케이션을 실행
+ * 2) seed: 게시글을 대량 생성해 MySQL에 넣고 재색인
+ * 3) run: Zipf 분포의 검색어로 검색/조회/쓰기 트래픽을 재생하고 지연 분포 출력
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        FeedDataGenerator generator = new FeedDataGenerator(new SplittableRandom(options.randomSeed()));
+        if (options.command().equals("seed")) {
+            new FeedSeeder(options).seed(generator);
+        } else {
+            new TrafficReplayer(options, generator).run();
+        }
+    }
+}
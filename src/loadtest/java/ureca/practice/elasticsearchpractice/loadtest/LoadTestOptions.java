@@ -0,0 +1,75 @@
+package ureca.practice.elasticsearchpractice.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * --key=value 형식의 실행 인자.
+ * 예) ./gradlew loadTest --args="seed --rows=2000000"
+ *     ./gradlew loadTest --args="run --duration=120s --concurrency=200 --mix=search:70,cursor:10,get:15,create:4,update:1"
+ */
+record LoadTestOptions(
+        String command,
+        String baseUrl,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        long rows,
+        boolean reindex,
+        Duration warmup,
+        Duration duration,
+        int concurrency,
+        double zipfExponent,
+        Map<TrafficReplayer.Endpoint, Integer> mix,
+        long randomSeed
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        if (args.length == 0 || (!args[0].equals("seed") && !args[0].equals("run"))) {
+            throw new IllegalArgumentException("사용법: seed|run [--key=value ...]");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        return new LoadTestOptions(
+                args[0],
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                values.getOrDefault("jdbc-url", "jdbc:mysql://localhost:3306/elasticsearch-practice?rewriteBatchedStatements=true"),
+                values.getOrDefault("jdbc-user", "root"),
+                values.getOrDefault("jdbc-password", "mysql"),
+                Long.parseLong(values.getOrDefault("rows", "1000000")),
+                Boolean.parseBoolean(values.getOrDefault("reindex", "true")),
+                duration(values.getOrDefault("warmup", "15s")),
+                duration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Double.parseDouble(values.getOrDefault("zipf-exponent", "1.1")),
+                mix(values.getOrDefault("mix", "search:70,cursor:10,get:15,create:4,update:1")),
+                Long.parseLong(values.getOrDefault("random-seed", "42"))
+        );
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+
+    private static Map<TrafficReplayer.Endpoint, Integer> mix(String value) {
+        Map<TrafficReplayer.Endpoint, Integer> mix = new EnumMap<>(TrafficReplayer.Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.split(":");
+            mix.put(TrafficReplayer.Endpoint.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+}
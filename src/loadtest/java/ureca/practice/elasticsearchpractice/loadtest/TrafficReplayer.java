@@ -0,0 +1,233 @@
+package ureca.practice.elasticsearchpractice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * 실행 중인 애플리케이션에 검색/조회/쓰기 요청을 섞어 보내고 엔드포인트별 처리량과 지연 분포를 측정합니다.
+ * 각 작업자는 응답을 받은 뒤 다음 요청을 보내는 closed-loop 방식이라, 서버가 느려지면 요청 속도도 함께 줄어듭니다.
+ */
+class TrafficReplayer {
+
+    enum Endpoint { SEARCH, CURSOR, GET, CREATE, UPDATE }
+
+    private static final int ID_POOL_SIZE = 10_000;
+    private static final int MAX_SEARCH_PAGE = 10;
+    private static final int CURSOR_PAGES = 3;
+
+    private final LoadTestOptions options;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+    // 검색/생성 응답에서 얻은 게시글 ID (단건 조회/수정 대상)
+    private final AtomicReferenceArray<String> idPool = new AtomicReferenceArray<>(ID_POOL_SIZE);
+
+    private final List<String> queries;
+    private final ZipfianSampler querySampler;
+    private final ZipfianSampler pageSampler;
+    private final Endpoint[] endpointWheel;
+    private final FeedDataGenerator generator;
+
+    private volatile boolean measuring;
+
+    TrafficReplayer(LoadTestOptions options, FeedDataGenerator generator) {
+        this.options = options;
+        this.generator = generator;
+        this.queries = generator.queryVocabulary();
+        this.querySampler = new ZipfianSampler(queries.size(), options.zipfExponent());
+        this.pageSampler = new ZipfianSampler(MAX_SEARCH_PAGE, 1.5);
+        this.endpointWheel = options.mix().entrySet().stream()
+                .flatMap(e -> Stream.generate(e::getKey).limit(e.getValue()))
+                .toArray(Endpoint[]::new);
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(3));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    void run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long deadline = warmupEnd + options.duration().toNanos();
+        SplittableRandom root = new SplittableRandom(options.randomSeed());
+
+        System.out.printf("워밍업 %ds, 측정 %ds, 동시 작업자 %d%n",
+                options.warmup().toSeconds(), options.duration().toSeconds(), options.concurrency());
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                SplittableRandom random = root.split();
+                workers.execute(() -> loop(random, deadline));
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            measuring = true;
+            System.out.println("측정 시작");
+        }
+        report();
+    }
+
+    private void loop(SplittableRandom random, long deadline) {
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = endpointWheel[random.nextInt(endpointWheel.length)];
+            long started = System.nanoTime();
+            boolean ok;
+            try {
+                ok = execute(endpoint, random);
+            } catch (Exception e) {
+                ok = false;
+            }
+            if (measuring) {
+                latencies.get(endpoint).recordValue((System.nanoTime() - started) / 1_000);
+                if (!ok) {
+                    errors.get(endpoint).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private boolean execute(Endpoint endpoint, SplittableRandom random) throws Exception {
+        return switch (endpoint) {
+            case SEARCH -> search(random);
+            case CURSOR -> cursor(random);
+            case GET -> get(random);
+            case CREATE -> create();
+            case UPDATE -> update(random);
+        };
+    }
+
+    private boolean search(SplittableRandom random) throws Exception {
+        String query = queries.get(querySampler.next(random));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/feeds/search?query=" + encode(query)
+                + "&page=" + pageSampler.next(random))).GET());
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        remember(objectMapper.readTree(response.body()).path("content"), random);
+        return true;
+    }
+
+    // 무한 스크롤처럼 다음 커서를 따라 몇 페이지 이어서 조회 (한 번의 측정에 여러 요청 포함)
+    private boolean cursor(SplittableRandom random) throws Exception {
+        String path = "/api/feeds/search/cursor?query=" + encode(queries.get(querySampler.next(random)));
+        for (int page = 0; page < CURSOR_PAGES; page++) {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri(path)).GET());
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            if (!body.path("hasNext").asBoolean()) {
+                break;
+            }
+            path = "/api/feeds/search/cursor?cursor=" + encode(body.path("nextCursor").asText());
+        }
+        return true;
+    }
+
+    private boolean get(SplittableRandom random) throws Exception {
+        String id = idPool.get(random.nextInt(ID_POOL_SIZE));
+        if (id == null) {
+            return search(random);
+        }
+        return send(HttpRequest.newBuilder(uri("/api/feeds/" + id)).GET()).statusCode() == 200;
+    }
+
+    private boolean create() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/feeds"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody(generator.next()))));
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        String id = objectMapper.readTree(response.body()).path("transactionFeedId").asText();
+        idPool.set(Math.floorMod(id.hashCode(), ID_POOL_SIZE), id);
+        return true;
+    }
+
+    private boolean update(SplittableRandom random) throws Exception {
+        String id = idPool.get(random.nextInt(ID_POOL_SIZE));
+        if (id == null) {
+            return create();
+        }
+        return send(HttpRequest.newBuilder(uri("/api/feeds/" + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(requestBody(generator.next())))).statusCode() == 200;
+    }
+
+    private void remember(JsonNode content, SplittableRandom random) {
+        for (JsonNode item : content) {
+            if (random.nextInt(4) == 0) {
+                idPool.set(random.nextInt(ID_POOL_SIZE), item.path("transactionFeedId").asText());
+            }
+        }
+    }
+
+    private String requestBody(FeedDataGenerator.Feed feed) throws Exception {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("sellerId", feed.sellerId())
+                .put("telecomCompanyId", feed.telecomCompanyId())
+                .put("title", feed.title())
+                .put("content", feed.content())
+                .put("salesPrice", feed.salesPrice())
+                .put("salesDataAmount", feed.salesDataAmount())
+                .put("progress", feed.progress());
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.baseUrl() + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private void report() {
+        double seconds = options.duration().toNanos() / 1e9;
+        System.out.println();
+        System.out.printf("%-8s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.name().toLowerCase(),
+                    histogram.getTotalCount(),
+                    errors.get(endpoint).get(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1_000.0,
+                    histogram.getValueAtPercentile(99) / 1_000.0,
+                    histogram.getValueAtPercentile(99.9) / 1_000.0,
+                    histogram.getMaxValue() / 1_000.0);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ureca.practice.elasticsearchpractice.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 0..n-1 순위 중 하나를 P(k) ∝ 1 / (k+1)^exponent 확률로 뽑습니다.
+ * 누적 분포를 미리 계산해 두고 이분 탐색하므로 한 번 뽑는 데 O(log n)입니다.
+ */
+class ZipfianSampler {
+
+    private final double[] cumulative;
+
+    ZipfianSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+}
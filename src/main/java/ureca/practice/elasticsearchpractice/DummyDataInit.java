@@ -7,7 +7,7 @@ import org.springframework.stereotype.Component;
 import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
 import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
 import ureca.practice.elasticsearchpractice.repository.TransactionFeedRepository;
-import ureca.practice.elasticsearchpractice.repository.TransactionFeedSearchRepository;
+import ureca.practice.elasticsearchpractice.service.FeedDocumentIndexer;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,7 +17,7 @@ import java.util.stream.Collectors;
 public class DummyDataInit implements CommandLineRunner {
 
     private final TransactionFeedRepository feedRepository;
-    private final TransactionFeedSearchRepository searchRepository;
+    private final FeedDocumentIndexer documentIndexer;
 
     @Override
     @Transactional
@@ -63,11 +63,11 @@ public class DummyDataInit implements CommandLineRunner {
         // 1. DB에 저장
         List<TransactionFeed> savedFeeds = feedRepository.saveAll(feeds);
 
-        // 2. Elasticsearch에 저장 (데이터 동기화)
+        // 2. Elasticsearch에 저장 (데이터 동기화, 판매 완료 글은 archive 인덱스로)
         List<TransactionFeedDocument> documents = savedFeeds.stream()
                 .map(TransactionFeedDocument::from)
                 .collect(Collectors.toList());
-        searchRepository.saveAll(documents);
+        documentIndexer.bulk(documents, List.of());
 
         System.out.println("==============================================");
         System.out.println(savedFeeds.size() + "개의 더미 데이터가 성공적으로 로드되었습니다.");
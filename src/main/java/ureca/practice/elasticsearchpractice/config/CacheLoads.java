@@ -0,0 +1,52 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine AsyncCache를 호출한 스레드에서 채우는 read-through 조회.
+ * 동기 Cache.get(key, loader)은 로더를 ConcurrentHashMap의 compute(synchronized 구간) 안에서 실행하므로,
+ * 로더가 ES/DB 호출이나 ConcurrencyLimiter 대기처럼 블로킹하면 가상 스레드가 캐리어 스레드에 고정됩니다.
+ * 여기서는 compute 안에서 빈 future만 등록하고 로더는 그 밖에서 실행하며, 같은 키의 동시 미스는 그 future를 기다립니다.
+ */
+public final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        AtomicBoolean owner = new AtomicBoolean();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> {
+            owner.set(true);
+            return created;
+        });
+        if (!owner.get()) {
+            return join(future);
+        }
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // 예외로 끝난 future는 캐시에서 제거되고, 기다리던 요청도 같은 예외를 받음
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.exception.ConcurrencyLimitExceededException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ES와 DB 커넥션 풀 앞의 세마포어 기반 동시 호출 제한.
+ * 가상 스레드 모드에서 수천 개의 요청이 한꺼번에 백엔드로 몰려 큐에서 타임아웃 나는 대신,
+ * 정해진 수만 통과시키고 나머지는 짧게 기다리다 실패시킵니다.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final long timeoutNanos;
+    private final Semaphore elasticsearch;
+    private final Semaphore datasource;
+
+    public ConcurrencyLimiter(ExecutionProperties properties) {
+        ExecutionProperties.Limiter config = properties.getLimiter();
+        this.enabled = config.isEnabled();
+        this.timeoutNanos = config.getAcquireTimeout().toNanos();
+        this.elasticsearch = new Semaphore(config.getElasticsearchPermits(), true);
+        this.datasource = new Semaphore(config.getDatasourcePermits(), true);
+    }
+
+    public <T, E extends Exception> T withElasticsearch(LimitedCall<T, E> call) throws E {
+        if (!enabled) {
+            return call.call();
+        }
+        acquire(elasticsearch, "Elasticsearch");
+        try {
+            return call.call();
+        } finally {
+            elasticsearch.release();
+        }
+    }
+
+    // DB 커넥션을 빌릴 때 호출하고, 커넥션을 반납할 때 releaseDatasource()로 돌려줌
+    public boolean acquireDatasource() {
+        if (!enabled) {
+            return false;
+        }
+        acquire(datasource, "DB");
+        return true;
+    }
+
+    public void releaseDatasource() {
+        datasource.release();
+    }
+
+    private void acquire(Semaphore semaphore, String resource) {
+        try {
+            if (!semaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new ConcurrencyLimitExceededException(resource);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException(resource);
+        }
+    }
+
+    @FunctionalInterface
+    public interface LimitedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+}
@@ -0,0 +1,59 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import co.elastic.clients.transport.rest_client.RestClientOptions;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.elasticsearch.client.NodeSelector;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestClientBuilder;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchProperties;
+import org.springframework.boot.autoconfigure.elasticsearch.RestClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Spring Boot가 만드는 RestClient에 커넥션 풀 크기, gzip, 노드 선택 정책을 더합니다.
+ * 여러 호스트를 지정하면 RestClient가 라운드로빈으로 분산하고, 실패한 노드는 잠시 제외했다가 다시 시도합니다.
+ */
+@Configuration
+public class ElasticsearchClientConfig {
+
+    @Bean
+    public RestClientBuilderCustomizer feedRestClientCustomizer(FeedElasticsearchProperties properties) {
+        return new RestClientBuilderCustomizer() {
+            @Override
+            public void customize(RestClientBuilder builder) {
+                builder.setCompressionEnabled(properties.isCompression())
+                        // sniffer로 노드 역할을 알게 되면 마스터 전용 노드로는 요청을 보내지 않음
+                        .setNodeSelector(NodeSelector.SKIP_DEDICATED_MASTERS);
+            }
+
+            @Override
+            public void customize(HttpAsyncClientBuilder builder) {
+                builder.setMaxConnPerRoute(properties.getMaxConnPerRoute())
+                        .setMaxConnTotal(properties.getMaxConnTotal());
+            }
+
+            @Override
+            public void customize(RequestConfig.Builder builder) {
+                builder.setConnectionRequestTimeout((int) properties.getPoolAcquireTimeout().toMillis());
+            }
+        };
+    }
+
+    /**
+     * 기본 소켓 타임아웃(검색 기준) 대신 지정한 값으로 요청을 보내는 옵션.
+     * 요청별 RequestConfig는 기본값을 통째로 대체하므로 연결/풀 대기 타임아웃도 함께 지정합니다.
+     */
+    public static RestClientOptions socketTimeout(Duration socketTimeout, ElasticsearchProperties elasticsearch,
+                                                  FeedElasticsearchProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) elasticsearch.getConnectionTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getPoolAcquireTimeout().toMillis())
+                .setSocketTimeout((int) socketTimeout.toMillis())
+                .build();
+        return new RestClientOptions(RequestOptions.DEFAULT.toBuilder().setRequestConfig(requestConfig).build(), false);
+    }
+}
@@ -0,0 +1,32 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 요청 처리 스레드 모델 관련 설정.
+ * 가상 스레드 사용 여부는 spring.threads.virtual.enabled로 켜고 끄며,
+ * 가상 스레드는 사실상 무제한으로 생기므로 ES와 DB 앞에 동시 호출 수 제한을 둡니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "feed.execution")
+public class ExecutionProperties {
+
+    private Limiter limiter = new Limiter();
+
+    @Getter
+    @Setter
+    public static class Limiter {
+        private boolean enabled = true;
+        // ES 동시 요청 수 (RestClient 커넥션 풀 크기 근처로 설정)
+        private int elasticsearchPermits = 30;
+        // 동시에 빌려갈 수 있는 DB 커넥션 수 (Hikari maximum-pool-size와 맞춤)
+        private int datasourcePermits = 10;
+        // 허용 수를 넘은 요청이 기다리는 최대 시간. 넘으면 503으로 빠르게 실패
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+    }
+}
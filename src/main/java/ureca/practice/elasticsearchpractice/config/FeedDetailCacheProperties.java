@@ -0,0 +1,21 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "feed.detail-cache")
+public class FeedDetailCacheProperties {
+
+    private boolean enabled = true;
+    // 캐시가 차지할 수 있는 대략적인 메모리 (항목 크기는 문자열 길이로 추정)
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    private Duration ttl = Duration.ofMinutes(10);
+    // 없는/삭제된 게시글 조회 결과를 기억하는 시간
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,32 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ES 클라이언트 커넥션 풀/압축/작업별 타임아웃 설정.
+ * 호스트 목록, 연결 타임아웃, 기본(검색) 소켓 타임아웃, sniffer는 spring.elasticsearch.*에서 설정합니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "feed.elasticsearch")
+public class FeedElasticsearchProperties {
+
+    // 노드 하나에 열어둘 최대 커넥션 수 (Apache HttpClient 기본값은 10)
+    private int maxConnPerRoute = 30;
+    // 전체 노드 합계 최대 커넥션 수 (기본값은 30)
+    private int maxConnTotal = 100;
+    // 풀에서 커넥션을 빌리기까지 기다리는 최대 시간
+    private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+    // 요청 본문을 gzip으로 보내고 응답도 gzip으로 받음
+    private boolean compression = true;
+    // _bulk는 검색보다 오래 걸리므로 소켓 타임아웃을 따로 둠
+    private Duration bulkSocketTimeout = Duration.ofSeconds(60);
+    // 인덱스 생성/설정 변경/refresh/분석기 재로딩 등 관리 작업용 소켓 타임아웃 (클러스터가 바쁘면 수십 초 걸릴 수 있음)
+    private Duration adminSocketTimeout = Duration.ofMinutes(2);
+    // 같은 검색어/필터의 페이지 이동이 같은 샤드 복제본(과 그 캐시)을 보도록 preference를 붙임
+    private boolean searchPreference = true;
+}
@@ -0,0 +1,142 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "feed.indexing")
+public class FeedIndexingProperties {
+
+    // 대량 등록/수정/삭제 요청 한 번에 허용하는 최대 항목 수
+    private int maxBulkItems = 1000;
+    // 새 인덱스를 createdAt 내림차순으로 정렬해 저장 (최신순 검색이 일찍 끝날 수 있음, 색인은 약간 느려짐)
+    private boolean sortByCreatedAt = true;
+
+    private Relay relay = new Relay();
+    private Reindex reindex = new Reindex();
+    private Cdc cdc = new Cdc();
+    private Partition partition = new Partition();
+    private Consistency consistency = new Consistency();
+
+    @Getter
+    @Setter
+    public static class Relay {
+        // 한 번의 _bulk 요청에 담을 최대 outbox 항목 수
+        private int batchSize = 500;
+        // 배치가 다 차지 않아도 가장 오래된 항목이 이 시간을 넘기면 바로 반영
+        private Duration maxWait = Duration.ofSeconds(1);
+        // 이 횟수만큼 실패한 항목은 더 이상 재시도하지 않고 남겨둠
+        private int maxAttempts = 10;
+        // outbox 조회 주기 (FeedIndexRelay의 @Scheduled에서 참조)
+        private long pollIntervalMs = 200;
+        // 요청 스레드가 커밋 직후 직접 반영하는 outbox 항목을 relay가 가져가지 않는 시간 (_bulk 소켓 타임아웃보다 길게)
+        private Duration claimLease = Duration.ofMinutes(2);
+        // outbox 대기/실패 건수 지표를 다시 세는 최소 간격 (relay 주기에 맞춰 갱신, 지표 수집 때는 DB를 조회하지 않음)
+        private Duration gaugeRefreshInterval = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Reindex {
+        // keyset 한 페이지이자 _bulk 한 번의 문서 수
+        private int batchSize = 1000;
+        // 동시에 _bulk를 보내는 작업자 수
+        private int workers = 4;
+        // 적재가 끝난 뒤 복구할 replica 수 (refresh_interval은 consistency.refreshInterval을 따름)
+        private int replicas = 1;
+        // alias 교체 후 롤백용으로 남겨둘 이전 버전 인덱스 수
+        private int retainPreviousVersions = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Cdc {
+        // 켜면 transaction_feed의 binlog를 읽어 색인하고, 단건 CRUD는 outbox를 쓰지 않음
+        private boolean enabled = false;
+        private String host = "localhost";
+        private int port = 3306;
+        // REPLICATION SLAVE, REPLICATION CLIENT 권한이 필요
+        private String username = "root";
+        private String password = "";
+        // 복제 클라이언트로 접속할 때 쓰는 server-id (MySQL 서버 및 다른 복제본과 겹치면 안 됨)
+        private long serverId = 65401;
+        private String database = "elasticsearch-practice";
+        private String table = "transaction_feed";
+        // 같은 게시글의 연속된 변경을 모아 한 번에 반영하는 시간 창
+        private Duration window = Duration.ofMillis(500);
+        // _bulk 한 번에 담을 최대 게시글 수
+        private int batchSize = 500;
+        // 이 횟수만큼 연속 실패한 게시글은 outbox로 넘겨 체크포인트가 막히지 않게 함 (relay.max-attempts와 같은 기준)
+        private int maxAttempts = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Partition {
+        // 이 개월 수보다 오래된 archive 파티션은 삭제하고, 그보다 오래된 판매 완료 글은 색인하지 않음
+        private int retentionMonths = 24;
+        // 작성 월이 이 개월 수 이상 지난 파티션은 쓰기가 거의 없으므로 세그먼트 하나로 force-merge
+        private int forceMergeAfterMonths = 2;
+        // 생성일 범위 검색에서 이보다 많은 파티션을 덮으면 파티션을 고르지 않고 archive alias 전체를 조회
+        private int maxSearchPartitions = 12;
+        // 다음 달 파티션 미리 생성, force-merge, 보존 기간 정리 주기 (FeedPartitionMaintenance의 @Scheduled에서 참조)
+        private long maintenanceIntervalMs = 3_600_000;
+        // archive 인덱스 목록을 다시 조회하기 전까지 재사용하는 시간 (이 인스턴스가 만들고 지운 파티션은 바로 반영)
+        private Duration indexCacheTtl = Duration.ofMinutes(1);
+    }
+
+    /**
+     * 색인 결과가 검색에 보이는 시점 설정. 관리 API(/api/admin/indexing/consistency)로 실행 중에 바꿀 수 있습니다.
+     */
+    @Getter
+    @Setter
+    public static class Consistency {
+
+        public enum Mode {
+            // outbox/CDC가 비동기로 반영 (응답이 가장 빠름, 반영은 최대 refresh_interval + relay 주기만큼 늦음)
+            ASYNC,
+            // 커밋 직후 해당 글만 바로 _bulk로 보내고 refresh=wait_for로 검색에 보일 때까지 기다린 뒤 응답
+            WAIT_FOR
+        }
+
+        // 작성자 본인의 단건 등록/수정/삭제. 대량 API, relay, CDC, 재색인은 항상 refresh 없이 보냄
+        private volatile Mode authorWrites = Mode.WAIT_FOR;
+        // 현재 인덱스와 새로 만드는 인덱스에 적용할 refresh_interval (부하가 몰릴 때 30s 등으로 늘려 색인 처리량 확보)
+        private volatile String refreshInterval = "1s";
+        // WAIT_FOR에서 허용하는 최대 refresh_interval (작성자 쓰기 응답이 최대 이 시간만큼 늦어짐)
+        private Duration maxWaitForRefreshInterval = Duration.ofSeconds(5);
+
+        private static final Pattern TIME_VALUE = Pattern.compile("(\\d+)(nanos|micros|ms|s|m|h|d)");
+
+        /**
+         * ES 시간 값(예: 500ms, 1s, 30s)을 Duration으로 바꿉니다. -1(refresh 끄기)이면 null.
+         * 형식이 맞지 않으면 IllegalArgumentException.
+         */
+        public static Duration parseRefreshInterval(String value) {
+            if ("-1".equals(value)) {
+                return null;
+            }
+            Matcher m = TIME_VALUE.matcher(value == null ? "" : value.strip());
+            if (!m.matches()) {
+                throw new IllegalArgumentException("refreshInterval 형식이 올바르지 않습니다. (예: 1s, 500ms, -1) value=" + value);
+            }
+            long amount = Long.parseLong(m.group(1));
+            return switch (m.group(2)) {
+                case "nanos" -> Duration.ofNanos(amount);
+                case "micros" -> Duration.of(amount, ChronoUnit.MICROS);
+                case "ms" -> Duration.ofMillis(amount);
+                case "s" -> Duration.ofSeconds(amount);
+                case "m" -> Duration.ofMinutes(amount);
+                case "h" -> Duration.ofHours(amount);
+                default -> Duration.ofDays(amount);
+            };
+        }
+    }
+}
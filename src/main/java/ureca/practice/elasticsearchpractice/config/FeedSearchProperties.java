@@ -0,0 +1,78 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "feed.search")
+public class FeedSearchProperties {
+
+    // 커서 검색에서 point-in-time을 유지하는 시간 (다음 페이지 요청마다 연장)
+    private Duration cursorKeepAlive = Duration.ofMinutes(1);
+    // 커서 검색 한 페이지의 최대 크기
+    private int maxCursorPageSize = 100;
+    // 정규화된 검색어별 파싱 결과/쿼리 캐시의 최대 항목 수
+    private long queryCacheSize = 5_000;
+
+    private ResultCache resultCache = new ResultCache();
+    private SlowQuery slowQuery = new SlowQuery();
+    private Snippet snippet = new Snippet();
+    private Ranking ranking = new Ranking();
+
+    @Getter
+    @Setter
+    public static class ResultCache {
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+        // 게시글 변경은 검색에 보인 뒤 버전을 올려 무효화하므로, TTL은 refresh가 꺼진 경우 등을 위한 상한
+        private Duration ttl = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Snippet {
+        // 검색 결과에 내려줄 본문 발췌 길이 (글자 수)
+        private int length = 120;
+        // 검색어와 일치한 부분을 <em>으로 감쌀지 여부 (끄면 본문 앞부분만 잘라 줌)
+        private boolean highlight = true;
+    }
+
+    @Getter
+    @Setter
+    public static class SlowQuery {
+        // ES 호출(client 관측)이 이 시간을 넘으면 느린 검색으로 기록
+        private Duration threshold = Duration.ofMillis(500);
+        // 느린 검색 중 로그로 남길 비율 (0.0 ~ 1.0)
+        private double sampleRate = 1.0;
+    }
+
+    /**
+     * 관련도 정렬(RELEVANCE)에 더하는 랭킹 점수: 최신 글, MB당 가격이 싼 글, 판매중인 글을 위로 올립니다.
+     * RESCORE는 1차 검색 상위 rescoreWindow건에만 적용하고, INLINE은 모든 일치 문서에 적용합니다.
+     */
+    @Getter
+    @Setter
+    public static class Ranking {
+        private Mode mode = Mode.RESCORE;
+        private int rescoreWindow = 100;
+        // createdAt 기준 지수 감쇠: offset까지는 감점 없음, 그 뒤 scale마다 decay 배로 줄어듦
+        private String freshnessScale = "7d";
+        private String freshnessOffset = "1d";
+        private double freshnessDecay = 0.5;
+        private double freshnessWeight = 1.0;
+        // pricePerMb(원/MB) 기준 감쇠: 0원에 가까울수록 높은 점수
+        private double pricePerMbScale = 2.0;
+        private double pricePerMbDecay = 0.5;
+        private double pricePerMbWeight = 1.0;
+        // 판매중(SELLING) 글에 더하는 점수 (예약중보다 위로)
+        private double sellingWeight = 0.5;
+
+        public enum Mode {
+            NONE, INLINE, RESCORE
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "feed.suggest")
+public class FeedSuggestProperties {
+
+    // 한 번에 돌려줄 추천어 수
+    private int size = 10;
+    // 이보다 긴 입력은 잘라서 조회 (긴 접두어는 캐시 적중률만 떨어뜨림)
+    private int maxPrefixLength = 30;
+    private long cacheSize = 20_000;
+    // 새 글이 추천어에 반영되기까지 최대 지연
+    private Duration cacheTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,92 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource 빈을 감싸 커넥션을 빌리는 동안 ConcurrencyLimiter의 DB 허용 수를 점유하게 합니다.
+ * JPA, JdbcTemplate 등 모든 DB 접근이 같은 한도를 따릅니다.
+ */
+@Component
+public class LimitedDataSourcePostProcessor implements BeanPostProcessor {
+
+    // BeanPostProcessor는 일찍 생성되므로 limiter는 처음 사용할 때 가져옴
+    private final ObjectProvider<ConcurrencyLimiter> limiter;
+
+    public LimitedDataSourcePostProcessor(ObjectProvider<ConcurrencyLimiter> limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof LimitedDataSource)) {
+            return new LimitedDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private class LimitedDataSource extends DelegatingDataSource {
+
+        LimitedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            ConcurrencyLimiter current = limiter.getObject();
+            boolean acquired = current.acquireDatasource();
+            try {
+                return releasing(super.getConnection(), current, acquired);
+            } catch (SQLException | RuntimeException e) {
+                if (acquired) {
+                    current.releaseDatasource();
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            ConcurrencyLimiter current = limiter.getObject();
+            boolean acquired = current.acquireDatasource();
+            try {
+                return releasing(super.getConnection(username, password), current, acquired);
+            } catch (SQLException | RuntimeException e) {
+                if (acquired) {
+                    current.releaseDatasource();
+                }
+                throw e;
+            }
+        }
+
+        // close() 시 허용 수를 한 번만 돌려주는 커넥션 프록시
+        private Connection releasing(Connection connection, ConcurrencyLimiter current, boolean acquired) {
+            if (!acquired) {
+                return connection;
+            }
+            AtomicBoolean released = new AtomicBoolean(false);
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            current.releaseDatasource();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ureca.practice.elasticsearchpractice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+import ureca.practice.elasticsearchpractice.dto.IndexingDto;
+import ureca.practice.elasticsearchpractice.service.FeedIndexManager;
+import ureca.practice.elasticsearchpractice.service.FeedIndexRelay;
+import ureca.practice.elasticsearchpractice.service.FeedReindexJob;
+
+import java.io.IOException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/admin/indexing")
+@RequiredArgsConstructor
+public class IndexingAdminController {
+
+    private final FeedIndexRelay feedIndexRelay;
+    private final FeedReindexJob feedReindexJob;
+    private final FeedIndexManager feedIndexManager;
+    private final FeedIndexingProperties properties;
+
+    // 색인 지연 조회
+    @GetMapping("/lag")
+    public ResponseEntity<IndexingDto.LagResponse> lag() {
+        return ResponseEntity.ok(feedIndexRelay.lag());
+    }
+
+    // 새 버전 인덱스로 전체 재색인 시작 (이미 실행 중이면 409)
+    @PostMapping("/reindex")
+    public ResponseEntity<IndexingDto.ReindexStatus> reindex() {
+        HttpStatus status = feedReindexJob.start() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(feedReindexJob.status());
+    }
+
+    // 재색인 진행 상황 조회
+    @GetMapping("/reindex")
+    public ResponseEntity<IndexingDto.ReindexStatus> reindexStatus() {
+        return ResponseEntity.ok(feedReindexJob.status());
+    }
+
+    // 현재 색인 반영 방식 조회
+    @GetMapping("/consistency")
+    public ResponseEntity<IndexingDto.ConsistencyResponse> consistency() {
+        return ResponseEntity.ok(IndexingDto.ConsistencyResponse.from(properties.getConsistency()));
+    }
+
+    // 실행 중에 반영 방식 변경 (예: 부하가 몰릴 때 ?authorWrites=ASYNC&refreshInterval=30s)
+    @PutMapping("/consistency")
+    public ResponseEntity<IndexingDto.ConsistencyResponse> updateConsistency(
+            @RequestParam(required = false) FeedIndexingProperties.Consistency.Mode authorWrites,
+            @RequestParam(required = false) String refreshInterval) throws IOException {
+        FeedIndexingProperties.Consistency consistency = properties.getConsistency();
+        FeedIndexingProperties.Consistency.Mode mode = authorWrites != null ? authorWrites : consistency.getAuthorWrites();
+        String interval = refreshInterval != null ? refreshInterval : consistency.getRefreshInterval();
+        Duration parsed;
+        try {
+            parsed = FeedIndexingProperties.Consistency.parseRefreshInterval(interval);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        // WAIT_FOR는 작성자 쓰기마다 다음 refresh까지 대기하므로 refresh가 꺼져 있거나(-1) 길면 허용하지 않음
+        Duration maxWait = consistency.getMaxWaitForRefreshInterval();
+        if (mode == FeedIndexingProperties.Consistency.Mode.WAIT_FOR && (parsed == null || parsed.compareTo(maxWait) > 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "authorWrites=WAIT_FOR에서는 refreshInterval이 " + maxWait.toMillis() + "ms 이하여야 합니다. (ASYNC로 함께 전환하세요) refreshInterval=" + interval);
+        }
+        if (!interval.equals(consistency.getRefreshInterval())) {
+            feedIndexManager.applyRefreshInterval(interval);
+        }
+        consistency.setAuthorWrites(mode);
+        return ResponseEntity.ok(IndexingDto.ConsistencyResponse.from(consistency));
+    }
+}
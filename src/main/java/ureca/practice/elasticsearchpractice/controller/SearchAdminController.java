@@ -0,0 +1,58 @@
+package ureca.practice.elasticsearchpractice.controller;
+
+import co.elastic.clients.elasticsearch.indices.ReloadSearchAnalyzersResponse;
+import co.elastic.clients.elasticsearch.indices.reload_search_analyzers.ReloadDetails;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ureca.practice.elasticsearchpractice.dto.SearchDto;
+import ureca.practice.elasticsearchpractice.search.FeedSearchCache;
+import ureca.practice.elasticsearchpractice.service.FeedIndexManager;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/search")
+@RequiredArgsConstructor
+public class SearchAdminController {
+
+    private final FeedSearchCache searchCache;
+    private final FeedIndexManager indexManager;
+
+    // 검색 결과 캐시 적중률 조회
+    @GetMapping("/cache")
+    public ResponseEntity<SearchDto.CacheStatsResponse> cacheStats() {
+        CacheStats stats = searchCache.stats();
+        return ResponseEntity.ok(SearchDto.CacheStatsResponse.builder()
+                .size(searchCache.size())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build());
+    }
+
+    // 검색 결과 캐시 비우기
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> invalidateCache() {
+        searchCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    // 동의어 파일 수정 후 호출. 재색인 없이 검색에 반영되고, 이전 동의어로 캐시된 검색 결과는 비움
+    @PostMapping("/synonyms/reload")
+    public ResponseEntity<SearchDto.SynonymReloadResponse> reloadSynonyms() throws IOException {
+        ReloadSearchAnalyzersResponse response = indexManager.reloadSearchAnalyzers();
+        searchCache.invalidateAll();
+        return ResponseEntity.ok(SearchDto.SynonymReloadResponse.builder()
+                .indices(response.reloadDetails().stream().map(ReloadDetails::index).toList())
+                .reloadedAnalyzers(response.reloadDetails().stream().flatMap(d -> d.reloadedAnalyzers().stream()).distinct().toList())
+                .reloadedNodeIds(response.reloadDetails().stream().flatMap(d -> d.reloadedNodeIds().stream()).distinct().toList())
+                .build());
+    }
+}
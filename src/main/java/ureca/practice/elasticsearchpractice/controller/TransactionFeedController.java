@@ -3,20 +3,26 @@ package ureca.practice.elasticsearchpractice.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ureca.practice.elasticsearchpractice.dto.FeedDto;
+import ureca.practice.elasticsearchpractice.dto.SearchDto;
+import ureca.practice.elasticsearchpractice.service.FeedBulkService;
+import ureca.practice.elasticsearchpractice.service.FeedSuggestService;
 import ureca.practice.elasticsearchpractice.service.TransactionFeedService;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/feeds")
 @RequiredArgsConstructor
 public class TransactionFeedController {
 
     private final TransactionFeedService feedService;
+    private final FeedBulkService feedBulkService;
+    private final FeedSuggestService feedSuggestService;
 
     // 게시글 생성
     @PostMapping
@@ -43,21 +49,91 @@ public class TransactionFeedController {
         return ResponseEntity.noContent().build();
     }
 
+    // 게시글 대량 생성
+    @PostMapping("/bulk")
+    public ResponseEntity<FeedDto.BulkResponse> createFeeds(@RequestBody List<FeedDto.Request> requests) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(feedBulkService.createFeeds(requests));
+    }
+
+    // 게시글 대량 수정
+    @PutMapping("/bulk")
+    public ResponseEntity<FeedDto.BulkResponse> updateFeeds(@RequestBody List<FeedDto.BulkUpdateItem> requests) {
+        return ResponseEntity.ok(feedBulkService.updateFeeds(requests));
+    }
+
+    // 게시글 대량 삭제 (본문: 게시글 ID 배열)
+    @DeleteMapping("/bulk")
+    public ResponseEntity<FeedDto.BulkResponse> deleteFeeds(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(feedBulkService.deleteFeeds(ids));
+    }
+
 
     // --- 통합 검색 엔드포인트 ---
     /**
      * 하나의 검색어로 제목, 내용, 닉네임, 통신사, 데이터양을 모두 검색합니다.
      * 예시: /api/feeds/search?query=SKT 데이터 10기가
-     * @param query 검색어
-     * @param pageable 페이징 정보
-     * @return 검색 결과 페이지
+     * 예시: /api/feeds/search?query=SKT&maxPrice=20000&minDataMb=10000&sortBy=PRICE_PER_MB
+     * @param query 검색어 (범위 조건이 있으면 생략 가능)
+     * @param options 가격/데이터 양 범위와 정렬 방식 (RELEVANCE, PRICE_ASC, PRICE_DESC, PRICE_PER_MB, RECENT)
+     * @param pageable 페이징 정보 (정렬은 sortBy로 지정)
+     * @return 검색 결과 페이지 (본문 대신 snippet, 전체 내용은 단건 조회로)
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<FeedDto.Response>> search(
-            @RequestParam(name = "query") String query,
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+    public ResponseEntity<Page<FeedDto.SearchItem>> search(
+            @RequestParam(name = "query", required = false) String query,
+            SearchDto.SearchOptions options,
+            @PageableDefault(size = 10) Pageable pageable
     ) {
         // 서비스의 새로운 통합 검색 메서드를 호출합니다.
-        return ResponseEntity.ok(feedService.unifiedSearch(query, pageable));
+        return ResponseEntity.ok(feedService.unifiedSearch(query, options.toFilter(), options.getSortBy(), pageable));
+    }
+
+    /**
+     * 검색 결과와 필터 사이드바용 facet 집계를 한 번에 조회합니다.
+     * 예시: /api/feeds/search/facets?query=SKT → 결과 10건 + 집계, /api/feeds/search/facets?size=0 → 전체 글 기준 집계만
+     * @param query 검색어 (없으면 전체)
+     * @param includeSoldOut 판매 완료 글까지 집계할지 여부
+     * @param page 페이지 번호
+     * @param size 페이지 크기 (0이면 집계만)
+     * @return 검색 결과와 facet 집계
+     */
+    @GetMapping("/search/facets")
+    public ResponseEntity<SearchDto.FacetResponse> facetSearch(
+            @RequestParam(name = "query", required = false) String query,
+            @RequestParam(name = "includeSoldOut", defaultValue = "false") boolean includeSoldOut,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(feedService.facetSearch(query, includeSoldOut, page, size));
+    }
+
+    /**
+     * 입력 중인 검색어의 자동완성 추천어 (제목, 판매자 닉네임).
+     * 예시: /api/feeds/suggest?prefix=skt 10
+     * @param prefix 지금까지 입력한 문자열
+     * @return 추천어 목록
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam(name = "prefix") String prefix) {
+        return ResponseEntity.ok(feedSuggestService.suggest(prefix));
+    }
+
+    /**
+     * 무한 스크롤용 커서 기반 검색. 깊은 페이지도 첫 페이지와 비슷한 비용으로 조회합니다.
+     * 예시: /api/feeds/search/cursor?query=SKT 10기가 → 응답의 nextCursor로 /api/feeds/search/cursor?cursor=...
+     * @param query 검색어 (cursor가 있으면 무시)
+     * @param options 범위 조건과 정렬 방식 (cursor가 있으면 무시)
+     * @param cursor 이전 응답의 nextCursor
+     * @param size 페이지 크기
+     * @return 검색 결과와 다음 커서
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<FeedDto.CursorPage> cursorSearch(
+            @RequestParam(name = "query", required = false) String query,
+            SearchDto.SearchOptions options,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(feedService.cursorSearch(query, options.toFilter(), options.getSortBy(), cursor, size));
     }
 }
@@ -6,69 +6,129 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.*;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @Getter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(indexName = "transaction_feeds") // Elasticsearch 인덱스 이름
+// indexName은 실제 인덱스(transaction_feeds_vN)를 가리키는 alias입니다. 인덱스 생성은 FeedIndexManager가 담당합니다.
+@Document(indexName = TransactionFeedDocument.INDEX_ALIAS, createIndex = false)
 @Setting(settingPath = "elasticsearch/nori-settings.json") // <<<--- 이 부분을 추가했습니다
 public class TransactionFeedDocument {
 
-    @Id
-    private String id; // JPA 엔티티의 ID와 동일한 값을 사용
+    public static final String INDEX_ALIAS = "transaction_feeds";
+    // 판매 완료(SOLD_OUT) 글을 보관하는 인덱스의 alias. 기본 검색은 INDEX_ALIAS(판매중/예약중)만 조회합니다.
+    public static final String ARCHIVE_ALIAS = "transaction_feeds_archive";
+    public static final String ARCHIVED_PROGRESS = "SOLD_OUT";
+
+    // 엔티티의 createdAt(LocalDateTime)을 해석하는 시간대 (archive 월별 파티션의 기준이기도 함)
+    public static final ZoneId ZONE = ZoneId.systemDefault();
 
-    // sellerId는 정확히 일치하는 검색(필터링)과 전문 검색 모두를 위해 설정
+    // 제목 중간 단어부터 입력해도 추천되도록 넣는 제목 접미어 수
+    private static final int MAX_TITLE_SUFFIXES = 4;
+
+    @Id
     @Field(type = FieldType.Keyword)
-    private String sellerIdKeyword; // 필터링용
+    private String id; // JPA 엔티티의 ID와 동일한 값을 사용
 
-    @Field(type = FieldType.Text, analyzer = "nori")
-    private String sellerIdText; // 전문 검색용
+    // 판매자 닉네임: 원본은 한 번만 저장하고, 전문 검색용 분석 결과는 sellerId.text 서브 필드로 색인
+    // (정확히 일치하는 필터링만 하고 정렬/집계는 하지 않으므로 doc values 없음)
+    @MultiField(
+            mainField = @Field(type = FieldType.Keyword, docValues = false),
+            otherFields = @InnerField(suffix = "text", type = FieldType.Text, analyzer = "nori", searchAnalyzer = "nori_search",
+                    norms = false, indexOptions = IndexOptions.docs)
+    )
+    private String sellerId;
 
-    // 제목: nori 분석기를 사용하여 형태소 분석
-    @Field(type = FieldType.Text, analyzer = "nori")
+    // 제목: nori 분석기를 사용하여 형태소 분석 (동의어는 색인하지 않고 검색 시 nori_search에서만 확장)
+    // 짧은 제목이 더 잘 맞도록 norms는 유지, 구문 검색("10기가")을 위해 positions도 유지
+    @Field(type = FieldType.Text, analyzer = "nori", searchAnalyzer = "nori_search")
     private String title;
 
-    // 내용: nori 분석기를 사용하여 형태소 분석
-    @Field(type = FieldType.Text, analyzer = "nori")
+    // 내용: nori 분석기를 사용하여 형태소 분석 (구문 검색과 snippet 하이라이트에 positions 필요)
+    @Field(type = FieldType.Text, analyzer = "nori", searchAnalyzer = "nori_search")
     private String content;
 
-    // 통신사: 정확히 일치(Term) 검색을 위해 Keyword 타입으로 설정
+    // 통신사: 필터와 facet 집계에 사용 (keyword는 norms가 없음)
     @Field(type = FieldType.Keyword)
     private String telecomCompanyId;
 
-    @Field(type = FieldType.Text, analyzer = "nori")
-    private String telecomCompanyText; // 검색용
-
+    // 가격/데이터 양: 범위 필터, 정렬, facet 집계에 모두 사용
     @Field(type = FieldType.Long)
     private Long salesPrice;
 
     @Field(type = FieldType.Integer)
     private Integer salesDataAmount;
 
+    // MB당 가격. 가성비 정렬을 스크립트 없이 doc values로 하기 위해 색인 시 미리 계산 (데이터 양이 없으면 null)
+    // 정렬과 랭킹 함수에서만 읽으므로 검색용 인덱스(BKD)는 만들지 않음
+    @Field(type = FieldType.Double, index = false)
+    private Double pricePerMb;
+
     @Field(type = FieldType.Keyword)
     private String progress;
 
-//    @Field(type = FieldType.Date)
-@Field(type = FieldType.Date, format = {}, pattern = "uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS||uuuu-MM-dd'T'HH:mm:ss.SSS||uuuu-MM-dd'T'HH:mm:ss")
-    private LocalDateTime createdAt;
+    // epoch millis 하나로만 저장해 색인 시 날짜 패턴을 여러 개 시도하지 않음 (정렬 값도 그대로 millis)
+    @Field(type = FieldType.Date, format = DateFormat.epoch_millis)
+    private Instant createdAt;
+
+    // 검색어 자동완성용 (FeedSuggestService). 제목, 제목의 단어별 접미어, 판매자 닉네임
+    @CompletionField(analyzer = "nori_suggest", searchAnalyzer = "nori_suggest", maxInputLength = 50)
+    private Completion suggest;
 
     // JPA 엔티티를 Elasticsearch 문서로 변환하는 정적 메서드
     public static TransactionFeedDocument from(TransactionFeed entity) {
         return TransactionFeedDocument.builder()
                 .id(entity.getTransactionFeedId())
-                .sellerIdKeyword(entity.getSellerId())
-                .sellerIdText(entity.getSellerId())
+                .sellerId(entity.getSellerId())
                 .title(entity.getTitle())
                 .content(entity.getContent())
                 .telecomCompanyId(entity.getTelecomCompanyId())
                 .salesPrice(entity.getSalesPrice())
                 .salesDataAmount(entity.getSalesDataAmount())
+                .pricePerMb(pricePerMb(entity.getSalesPrice(), entity.getSalesDataAmount()))
                 .progress(entity.getProgress())
-                .createdAt(entity.getCreatedAt())
+                .createdAt(entity.getCreatedAt() != null ? entity.getCreatedAt().atZone(ZONE).toInstant() : null)
+                .suggest(suggestOf(entity))
                 .build();
     }
+
+    // 응답 DTO는 엔티티와 같은 LocalDateTime(서버 시간대)으로 돌려줌
+    public LocalDateTime getCreatedAtLocal() {
+        return createdAt != null ? LocalDateTime.ofInstant(createdAt, ZONE) : null;
+    }
+
+    public boolean isArchived() {
+        return ARCHIVED_PROGRESS.equals(progress);
+    }
+
+    private static Double pricePerMb(Long salesPrice, Integer salesDataAmount) {
+        if (salesPrice == null || salesDataAmount == null || salesDataAmount <= 0) {
+            return null;
+        }
+        return (double) salesPrice / salesDataAmount;
+    }
+
+    private static Completion suggestOf(TransactionFeed entity) {
+        List<String> inputs = new ArrayList<>();
+        if (entity.getTitle() != null && !entity.getTitle().isBlank()) {
+            String[] words = entity.getTitle().strip().split("\\s+");
+            for (int i = 0; i < Math.min(words.length, MAX_TITLE_SUFFIXES + 1); i++) {
+                inputs.add(String.join(" ", Arrays.copyOfRange(words, i, words.length)));
+            }
+        }
+        if (entity.getSellerId() != null) {
+            inputs.add(entity.getSellerId());
+        }
+        return new Completion(inputs.toArray(String[]::new));
+    }
 }
@@ -6,6 +6,7 @@ import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
 import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class FeedDto {
 
@@ -61,18 +62,122 @@ public class FeedDto {
                     .build();
         }
 
+        public static Response from(DetailView view) {
+            return Response.builder()
+                    .transactionFeedId(view.getTransactionFeedId())
+                    .sellerId(view.getSellerId())
+                    .telecomCompanyId(view.getTelecomCompanyId())
+                    .title(view.getTitle())
+                    .content(view.getContent())
+                    .salesPrice(view.getSalesPrice())
+                    .salesDataAmount(view.getSalesDataAmount())
+                    .progress(view.getProgress())
+                    .createdAt(view.getCreatedAt())
+                    .updatedAt(view.getUpdatedAt())
+                    .build();
+        }
+
         public static Response from(TransactionFeedDocument doc) {
             return Response.builder()
                     .transactionFeedId(doc.getId())
-                    .sellerId(doc.getSellerIdKeyword())
+                    .sellerId(doc.getSellerId())
                     .telecomCompanyId(doc.getTelecomCompanyId())
                     .title(doc.getTitle())
                     .content(doc.getContent())
                     .salesPrice(doc.getSalesPrice())
                     .salesDataAmount(doc.getSalesDataAmount())
                     .progress(doc.getProgress())
-                    .createdAt(doc.getCreatedAt())
+                    .createdAt(doc.getCreatedAtLocal())
+                    .build();
+        }
+    }
+
+    // 검색 결과 목록용 응답. 본문 대신 ES가 잘라 준 snippet만 담습니다. (전체 내용은 단건 조회로)
+    @Data
+    @Builder
+    public static class SearchItem {
+        private String transactionFeedId;
+        private String telecomCompanyId;
+        private String title;
+        private String snippet; // HTML 이스케이프된 본문 발췌 (강조 부분만 <em>)
+        private Long salesPrice;
+        private Integer salesDataAmount;
+        private Double pricePerMb;
+        private String progress;
+        private LocalDateTime createdAt;
+
+        public static SearchItem from(TransactionFeedDocument doc, String snippet) {
+            return SearchItem.builder()
+                    .transactionFeedId(doc.getId())
+                    .telecomCompanyId(doc.getTelecomCompanyId())
+                    .title(doc.getTitle())
+                    .snippet(snippet)
+                    .salesPrice(doc.getSalesPrice())
+                    .salesDataAmount(doc.getSalesDataAmount())
+                    .pricePerMb(doc.getPricePerMb())
+                    .progress(doc.getProgress())
+                    .createdAt(doc.getCreatedAtLocal())
                     .build();
         }
     }
+
+    @Data
+    public static class BulkUpdateItem {
+        private String transactionFeedId;
+        private Request feed;
+    }
+
+    @Data
+    @Builder
+    public static class BulkItemResult {
+        private int index;                  // 요청 배열에서의 위치
+        private String transactionFeedId;
+        private BulkItemStatus status;
+        private String error;
+    }
+
+    public enum BulkItemStatus {
+        CREATED, UPDATED, DELETED,
+        NOT_FOUND,      // 없거나 이미 삭제된 게시글
+        INVALID,        // 필수 값이 빠졌거나 제약(content 길이 등)을 어긴 항목
+        INDEX_PENDING   // DB에는 반영됐지만 ES 색인에 실패해 outbox에서 재시도 중
+    }
+
+    @Data
+    @Builder
+    public static class BulkResponse {
+        private int succeeded;
+        private int failed;
+        private List<BulkItemResult> items;
+
+        public static BulkResponse of(List<BulkItemResult> items) {
+            int failed = (int) items.stream()
+                    .filter(item -> item.getStatus() == BulkItemStatus.NOT_FOUND || item.getStatus() == BulkItemStatus.INVALID
+                            || item.getStatus() == BulkItemStatus.INDEX_PENDING)
+                    .count();
+            return BulkResponse.builder().succeeded(items.size() - failed).failed(failed).items(items).build();
+        }
+    }
+
+    // 단건 조회용 읽기 전용 projection (영속성 컨텍스트에 엔티티를 올리지 않고 필요한 컬럼만 조회)
+    public interface DetailView {
+        String getTransactionFeedId();
+        String getSellerId();
+        String getTelecomCompanyId();
+        String getTitle();
+        String getContent();
+        Long getSalesPrice();
+        Integer getSalesDataAmount();
+        String getProgress();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
+
+    @Data
+    @Builder
+    public static class CursorPage {
+        private List<SearchItem> content;
+        private String nextCursor; // 다음 페이지 요청 시 그대로 전달 (마지막 페이지면 null)
+        private boolean hasNext;
+    }
 }
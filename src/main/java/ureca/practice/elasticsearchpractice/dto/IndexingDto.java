@@ -0,0 +1,49 @@
+package ureca.practice.elasticsearchpractice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+
+import java.time.LocalDateTime;
+
+public class IndexingDto {
+
+    @Data
+    @Builder
+    public static class LagResponse {
+        private long pendingCount;          // 아직 ES에 반영되지 않은 outbox 항목 수
+        private long deadCount;             // 재시도 한도를 넘겨 멈춘 항목 수
+        private LocalDateTime oldestPendingAt;
+        private long lagMillis;             // 가장 오래된 대기 항목이 기다린 시간
+    }
+
+    @Data
+    @Builder(toBuilder = true)
+    public static class ReindexStatus {
+        private String state;               // IDLE, RUNNING, COMPLETED, FAILED
+        private String targetIndex;         // 적재 중이거나 적재를 마친 버전 인덱스
+        private long indexedCount;
+        private long failedCount;
+        private long docsPerSecond;         // 적재 구간(DB 읽기 + _bulk)의 평균 색인 처리량
+        private Long primaryStoreBytes;     // 적재를 마친 새 인덱스의 주 샤드 저장 크기 (완료 후에만)
+        private Long previousPrimaryStoreBytes; // 교체 직전까지 검색하던 인덱스의 주 샤드 저장 크기 (매핑 변경 전후 비교용)
+        private Long previousDocCount;      // 교체 직전 인덱스의 문서 수 (크기를 문서당으로 비교할 때 사용)
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String message;
+    }
+
+    @Data
+    @Builder
+    public static class ConsistencyResponse {
+        private FeedIndexingProperties.Consistency.Mode authorWrites;
+        private String refreshInterval;
+
+        public static ConsistencyResponse from(FeedIndexingProperties.Consistency consistency) {
+            return ConsistencyResponse.builder()
+                    .authorWrites(consistency.getAuthorWrites())
+                    .refreshInterval(consistency.getRefreshInterval())
+                    .build();
+        }
+    }
+}
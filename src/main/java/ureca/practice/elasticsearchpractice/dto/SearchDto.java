@@ -0,0 +1,88 @@
+package ureca.practice.elasticsearchpractice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import ureca.practice.elasticsearchpractice.search.SearchFilter;
+import ureca.practice.elasticsearchpractice.search.SortMode;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class SearchDto {
+
+    @Data
+    @Builder
+    public static class CacheStatsResponse {
+        private long size;
+        private long hitCount;
+        private long missCount;         // 미스 = 실제 ES 호출 수
+        private double hitRate;
+        private long evictionCount;
+    }
+
+    // 검색 API의 범위 조건/정렬 파라미터 (?minPrice=&maxPrice=&minDataMb=&maxDataMb=&createdFrom=&createdTo=&sortBy=&includeSoldOut=)
+    @Data
+    public static class SearchOptions {
+        private Long minPrice;
+        private Long maxPrice;
+        private Integer minDataMb;
+        private Integer maxDataMb;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate createdFrom;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate createdTo;
+        private SortMode sortBy = SortMode.RELEVANCE;
+        private boolean includeSoldOut;     // 판매 완료 글까지 검색 (기본은 판매중/예약중만)
+
+        public SearchFilter toFilter() {
+            return new SearchFilter(minPrice, maxPrice, minDataMb, maxDataMb, createdFrom, createdTo, includeSoldOut);
+        }
+    }
+
+    @Data
+    @Builder
+    public static class SynonymReloadResponse {
+        private List<String> indices;
+        private List<String> reloadedAnalyzers;
+        private List<String> reloadedNodeIds;
+    }
+
+    @Data
+    @Builder
+    public static class FacetResponse {
+        private long totalHits;
+        private List<FeedDto.SearchItem> items;     // size=0이면 빈 목록
+        private Facets facets;
+    }
+
+    @Data
+    @Builder
+    public static class Facets {
+        private List<Bucket> telecoms;
+        private List<Bucket> progresses;
+        private List<Bucket> dataSizes;             // salesDataAmount 구간 (MB)
+        private List<Bucket> prices;                // salesPrice 구간 (원)
+        private List<PricePercentiles> pricePercentiles;
+    }
+
+    @Data
+    @Builder
+    public static class Bucket {
+        private String key;
+        private Double from;                        // 구간 집계에서만 사용
+        private Double to;
+        private long count;
+    }
+
+    // 데이터 크기별 가격 분포 (시세 참고용)
+    @Data
+    @Builder
+    public static class PricePercentiles {
+        private long salesDataAmount;
+        private long count;
+        private Double p25;
+        private Double p50;
+        private Double p75;
+    }
+}
@@ -0,0 +1,40 @@
+package ureca.practice.elasticsearchpractice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * binlog CDC가 ES에 반영을 마친 마지막 binlog 위치. 재시작 시 이 위치부터 다시 읽습니다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "feed_cdc_checkpoint")
+public class FeedCdcCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name; // 파이프라인 이름 (테이블당 하나)
+
+    @Column(name = "binlog_filename", nullable = false)
+    private String binlogFilename;
+
+    @Column(name = "binlog_position", nullable = false)
+    private long binlogPosition;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public void update(String binlogFilename, long binlogPosition) {
+        this.binlogFilename = binlogFilename;
+        this.binlogPosition = binlogPosition;
+    }
+}
@@ -0,0 +1,66 @@
+package ureca.practice.elasticsearchpractice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 쓰기와 같은 트랜잭션에서 기록되는 Elasticsearch 색인 대기열(outbox).
+ * FeedIndexRelay가 주기적으로 읽어 _bulk 요청으로 반영한 뒤 삭제합니다.
+ * 커밋 직후 요청 스레드가 직접 반영할 항목은 claimedUntil까지 relay가 가져가지 않아 같은 글이 두 번 색인되지 않습니다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "feed_index_outbox", indexes = @Index(name = "idx_feed_index_outbox_attempts", columnList = "attempts, outbox_id"))
+public class FeedIndexOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // 기록 순서대로 처리하기 위해 증가하는 ID 사용
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "transaction_feed_id", nullable = false)
+    private String transactionFeedId; // ES 문서 ID와 동일
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 10)
+    private Operation operation;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0; // 색인 실패 횟수
+
+    // 요청 스레드가 직접 반영 중인 항목의 점유 만료 시각 (요청 스레드가 반영 전에 죽으면 이 시각 뒤 relay가 처리)
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public static FeedIndexOutbox index(String feedId) {
+        return FeedIndexOutbox.builder().transactionFeedId(feedId).operation(Operation.INDEX).build();
+    }
+
+    public static FeedIndexOutbox delete(String feedId) {
+        return FeedIndexOutbox.builder().transactionFeedId(feedId).operation(Operation.DELETE).build();
+    }
+
+    // 저장 전에 호출해 relay보다 먼저 이 항목을 점유 (점유한 쪽이 반영 후 삭제하거나, 실패 시 점유를 풀고 재시도 횟수를 올림)
+    public FeedIndexOutbox claimFor(Duration lease) {
+        this.claimedUntil = LocalDateTime.now().plus(lease);
+        return this;
+    }
+
+    public enum Operation {
+        INDEX, DELETE
+    }
+}
@@ -17,6 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "transaction_feed")
 public class TransactionFeed {
 
+    public static final int MAX_CONTENT_LENGTH = 1000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID) // ID를 UUID로 자동 생성
     @Column(name = "transaction_feed_id")
@@ -31,7 +33,7 @@ public class TransactionFeed {
     @Column(name = "title")
     private String title;
 
-    @Column(name = "content", length = 1000)
+    @Column(name = "content", length = MAX_CONTENT_LENGTH)
     private String content;
 
     @Column(name = "sales_price")
@@ -0,0 +1,13 @@
+package ureca.practice.elasticsearchpractice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 백엔드(ES/DB) 동시 호출 한도를 넘어 대기 시간 안에 차례를 얻지 못한 경우
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String resource) {
+        super(resource + " 동시 요청 한도를 초과했습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -0,0 +1,7 @@
+package ureca.practice.elasticsearchpractice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ureca.practice.elasticsearchpractice.entity.FeedCdcCheckpoint;
+
+public interface FeedCdcCheckpointRepository extends JpaRepository<FeedCdcCheckpoint, String> {
+}
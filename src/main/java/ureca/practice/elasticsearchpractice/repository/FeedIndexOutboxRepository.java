@@ -0,0 +1,32 @@
+package ureca.practice.elasticsearchpractice.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ureca.practice.elasticsearchpractice.entity.FeedIndexOutbox;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface FeedIndexOutboxRepository extends JpaRepository<FeedIndexOutbox, Long>, FeedIndexOutboxRepositoryCustom {
+    // 재시도 한도를 넘지 않았고 요청 스레드가 점유 중이지 않은 항목을 기록 순서대로 조회
+    @Query("select o from FeedIndexOutbox o where o.attempts < :maxAttempts and (o.claimedUntil is null or o.claimedUntil < :now) order by o.outboxId asc")
+    List<FeedIndexOutbox> findRelayable(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now, Pageable pageable);
+
+    Optional<FeedIndexOutbox> findFirstByAttemptsLessThanOrderByOutboxIdAsc(int maxAttempts);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+
+    @Transactional
+    @Modifying
+    // 실패한 항목은 점유도 풀어 다음 relay 주기에 다시 시도
+    @Query("update FeedIndexOutbox o set o.attempts = o.attempts + 1, o.claimedUntil = null where o.outboxId in :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,10 @@
+package ureca.practice.elasticsearchpractice.repository;
+
+import ureca.practice.elasticsearchpractice.entity.FeedIndexOutbox;
+
+import java.util.List;
+
+public interface FeedIndexOutboxRepositoryCustom {
+    // IDENTITY 키라 JPA saveAll은 한 건씩 insert되므로, 대량 등록 시에는 JDBC batch로 한 번에 저장
+    List<FeedIndexOutbox> insertAllInBatch(List<FeedIndexOutbox> outboxes);
+}
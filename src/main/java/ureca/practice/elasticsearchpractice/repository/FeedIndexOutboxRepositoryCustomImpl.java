@@ -0,0 +1,67 @@
+package ureca.practice.elasticsearchpractice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import ureca.practice.elasticsearchpractice.entity.FeedIndexOutbox;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class FeedIndexOutboxRepositoryCustomImpl implements FeedIndexOutboxRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "insert into feed_index_outbox (transaction_feed_id, operation, attempts, claimed_until, created_at) values (?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<FeedIndexOutbox> insertAllInBatch(List<FeedIndexOutbox> outboxes) {
+        if (outboxes.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        FeedIndexOutbox outbox = outboxes.get(i);
+                        ps.setString(1, outbox.getTransactionFeedId());
+                        ps.setString(2, outbox.getOperation().name());
+                        ps.setTimestamp(3, outbox.getClaimedUntil() != null ? Timestamp.valueOf(outbox.getClaimedUntil()) : null);
+                        ps.setTimestamp(4, Timestamp.valueOf(now));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return outboxes.size();
+                    }
+                },
+                keyHolder);
+
+        // 생성된 키는 insert 순서대로 돌아옴
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<FeedIndexOutbox> saved = new ArrayList<>(outboxes.size());
+        for (int i = 0; i < outboxes.size(); i++) {
+            FeedIndexOutbox outbox = outboxes.get(i);
+            saved.add(FeedIndexOutbox.builder()
+                    .outboxId(((Number) keys.get(i).values().iterator().next()).longValue())
+                    .transactionFeedId(outbox.getTransactionFeedId())
+                    .operation(outbox.getOperation())
+                    .claimedUntil(outbox.getClaimedUntil())
+                    .createdAt(now)
+                    .build());
+        }
+        return saved;
+    }
+}
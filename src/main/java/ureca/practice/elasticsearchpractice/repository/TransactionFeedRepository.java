@@ -1,12 +1,29 @@
 package ureca.practice.elasticsearchpractice.repository;
 
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ureca.practice.elasticsearchpractice.dto.FeedDto;
 import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface TransactionFeedRepository extends JpaRepository<TransactionFeed, String> {
     // 삭제되지 않은 게시글만 조회
     Optional<TransactionFeed> findByTransactionFeedIdAndIsDeletedFalse(String id);
+
+    // 단건 조회 응답용 projection
+    Optional<FeedDto.DetailView> findDetailByTransactionFeedIdAndIsDeletedFalse(String id);
+
+    // 재색인용 keyset 페이지 조회: lastId 다음 ID부터 pageable 크기만큼 (offset 없이 PK 인덱스를 탐색)
+    List<TransactionFeed> findByTransactionFeedIdGreaterThanAndIsDeletedFalseOrderByTransactionFeedIdAsc(String lastId, Pageable pageable);
+
+    // 재색인 도중 변경된 게시글 ID (삭제된 게시글 포함)
+    @Query("select f.transactionFeedId from TransactionFeed f " +
+            "where f.updatedAt >= :since and f.transactionFeedId > :lastId order by f.transactionFeedId")
+    List<String> findIdsUpdatedSince(@Param("since") LocalDateTime since, @Param("lastId") String lastId, Pageable pageable);
 }
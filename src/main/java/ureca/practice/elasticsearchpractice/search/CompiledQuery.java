@@ -0,0 +1,10 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+
+/**
+ * 정규화된 검색어 하나에 대한 파싱 결과와 미리 만들어 둔 ES 쿼리.
+ * ES 클라이언트의 Query 객체는 불변이라 여러 요청에서 그대로 재사용할 수 있습니다.
+ */
+public record CompiledQuery(String normalizedQuery, ParsedQuery parsed, Query query) {
+}
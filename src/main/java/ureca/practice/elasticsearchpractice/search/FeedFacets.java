@@ -0,0 +1,112 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
+import co.elastic.clients.elasticsearch._types.aggregations.ArrayPercentilesItem;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.core.AggregationsContainer;
+import ureca.practice.elasticsearchpractice.dto.SearchDto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 사이드바용 facet 집계 정의와 응답 변환.
+ * 모두 doc values(keyword/숫자 필드)로 계산되므로 검색과 같은 요청에 붙여도 _source를 읽지 않습니다.
+ */
+public final class FeedFacets {
+
+    private static final String TELECOM = "telecom";
+    private static final String PROGRESS = "progress";
+    private static final String DATA_SIZE = "dataSize";
+    private static final String PRICE = "price";
+    private static final String PRICE_BY_DATA_SIZE = "priceByDataSize";
+    private static final String PRICE_PERCENTILES = "pricePercentiles";
+
+    private static final List<Double> PERCENTS = List.of(25.0, 50.0, 75.0);
+
+    // salesDataAmount는 MB 단위
+    private static final List<AggregationRange> DATA_SIZE_RANGES = List.of(
+            range("~1GB", null, 1_000.0),
+            range("1-5GB", 1_000.0, 5_000.0),
+            range("5-10GB", 5_000.0, 10_000.0),
+            range("10-20GB", 10_000.0, 20_000.0),
+            range("20GB~", 20_000.0, null)
+    );
+
+    private static final List<AggregationRange> PRICE_RANGES = List.of(
+            range("~5000", null, 5_000.0),
+            range("5000-10000", 5_000.0, 10_000.0),
+            range("10000-20000", 10_000.0, 20_000.0),
+            range("20000-50000", 20_000.0, 50_000.0),
+            range("50000~", 50_000.0, null)
+    );
+
+    private static final Map<String, Aggregation> AGGREGATIONS = Map.of(
+            TELECOM, Aggregation.of(a -> a.terms(t -> t.field("telecomCompanyId").size(10))),
+            PROGRESS, Aggregation.of(a -> a.terms(t -> t.field("progress").size(10))),
+            DATA_SIZE, Aggregation.of(a -> a.range(r -> r.field("salesDataAmount").ranges(DATA_SIZE_RANGES))),
+            PRICE, Aggregation.of(a -> a.range(r -> r.field("salesPrice").ranges(PRICE_RANGES))),
+            PRICE_BY_DATA_SIZE, Aggregation.of(a -> a
+                    .terms(t -> t.field("salesDataAmount").size(20))
+                    .aggregations(PRICE_PERCENTILES, sub -> sub.percentiles(p -> p
+                            .field("salesPrice")
+                            .percents(PERCENTS)
+                            .keyed(false))))
+    );
+
+    private FeedFacets() {
+    }
+
+    public static Map<String, Aggregation> aggregations() {
+        return AGGREGATIONS;
+    }
+
+    public static SearchDto.Facets from(AggregationsContainer<?> container) {
+        Map<String, Aggregate> aggregates = ((ElasticsearchAggregations) container).aggregationsAsMap().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().aggregation().getAggregate(), (a, b) -> a, LinkedHashMap::new));
+
+        return SearchDto.Facets.builder()
+                .telecoms(terms(aggregates.get(TELECOM)))
+                .progresses(terms(aggregates.get(PROGRESS)))
+                .dataSizes(ranges(aggregates.get(DATA_SIZE)))
+                .prices(ranges(aggregates.get(PRICE)))
+                .pricePercentiles(pricePercentiles(aggregates.get(PRICE_BY_DATA_SIZE)))
+                .build();
+    }
+
+    private static List<SearchDto.Bucket> terms(Aggregate aggregate) {
+        return aggregate.sterms().buckets().array().stream()
+                .map(b -> SearchDto.Bucket.builder().key(b.key().stringValue()).count(b.docCount()).build())
+                .toList();
+    }
+
+    private static List<SearchDto.Bucket> ranges(Aggregate aggregate) {
+        return aggregate.range().buckets().array().stream()
+                .map(b -> SearchDto.Bucket.builder().key(b.key()).from(b.from()).to(b.to()).count(b.docCount()).build())
+                .toList();
+    }
+
+    private static List<SearchDto.PricePercentiles> pricePercentiles(Aggregate aggregate) {
+        return aggregate.lterms().buckets().array().stream()
+                .map(b -> {
+                    List<ArrayPercentilesItem> values = b.aggregations().get(PRICE_PERCENTILES).tdigestPercentiles().values().array();
+                    // 요청한 PERCENTS 순서대로 돌아옴 (문서가 없으면 값이 null)
+                    return SearchDto.PricePercentiles.builder()
+                            .salesDataAmount(b.key())
+                            .count(b.docCount())
+                            .p25(values.get(0).value())
+                            .p50(values.get(1).value())
+                            .p75(values.get(2).value())
+                            .build();
+                })
+                .toList();
+    }
+
+    private static AggregationRange range(String key, Double from, Double to) {
+        return AggregationRange.of(r -> r.key(key).from(from).to(to));
+    }
+}
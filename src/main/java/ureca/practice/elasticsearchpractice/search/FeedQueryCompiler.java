@@ -0,0 +1,102 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties;
+
+import java.util.List;
+
+/**
+ * 검색어 → CompiledQuery 변환기. 트래픽 대부분이 소수의 인기 검색어이므로
+ * 정규화된 검색어를 키로 한 크기 제한 캐시에 결과를 보관합니다.
+ *
+ * 분류 규칙 (단어 수와 관계없이 동일):
+ * - 통신사/데이터 크기/판매 상태/가격 범위: 점수에 영향이 없는 filter 절 (ES filter 캐시 대상)
+ * - 나머지 일반 단어: 점수를 매기는 multiMatch (모든 단어가 어느 한 필드에는 있어야 함)
+ * 같은 종류의 조건끼리는 OR, 종류가 다르면 AND로 묶입니다. ("SKT KT 10기가" → (SKT 또는 KT) 그리고 10GB)
+ */
+@Component
+public class FeedQueryCompiler implements MeterBinder {
+
+    private final FeedQueryParser parser = new FeedQueryParser();
+    private final Cache<String, CompiledQuery> cache;
+
+    public FeedQueryCompiler(FeedSearchProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getQueryCacheSize())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "feed.query-compile");
+    }
+
+    public CompiledQuery compile(String rawQuery) {
+        return cache.get(FeedQueryParser.normalize(rawQuery), this::build);
+    }
+
+    // 캐시를 거치지 않는 변환 (벤치마크에서 직접 호출)
+    CompiledQuery build(String normalizedQuery) {
+        ParsedQuery parsed = parser.parse(normalizedQuery);
+        return new CompiledQuery(normalizedQuery, parsed, Query.of(q -> q.bool(toBoolQuery(parsed))));
+    }
+
+    private BoolQuery toBoolQuery(ParsedQuery parsed) {
+        BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
+
+        if (!parsed.telecoms().isEmpty()) {
+            boolQueryBuilder.filter(terms("telecomCompanyId", parsed.telecoms().stream().map(FieldValue::of).toList()));
+        }
+        if (!parsed.dataSizesMb().isEmpty()) {
+            boolQueryBuilder.filter(terms("salesDataAmount", parsed.dataSizesMb().stream().map(FieldValue::of).toList()));
+            // 제목/내용에 "10기가"처럼 그대로 적힌 글은 점수만 올려줌 (Phrase로 "100기가" 등 제외)
+            for (String dataWord : parsed.dataWords()) {
+                boolQueryBuilder.should(s -> s.multiMatch(mm -> mm
+                        .query(dataWord)
+                        .fields("title^2", "content")
+                        .type(TextQueryType.Phrase)
+                ));
+            }
+        }
+        if (!parsed.progresses().isEmpty()) {
+            boolQueryBuilder.filter(terms("progress", parsed.progresses().stream().map(FieldValue::of).toList()));
+        }
+        if (parsed.hasPriceRange()) {
+            boolQueryBuilder.filter(f -> f.range(r -> r.number(n -> {
+                n.field("salesPrice");
+                if (parsed.minPrice() != null) {
+                    n.gte(parsed.minPrice().doubleValue());
+                }
+                if (parsed.maxPrice() != null) {
+                    n.lte(parsed.maxPrice().doubleValue());
+                }
+                return n;
+            })));
+        }
+        if (!parsed.textWords().isEmpty()) {
+            boolQueryBuilder.must(m -> m.multiMatch(mm -> mm
+                    .query(String.join(" ", parsed.textWords()))
+                    .fields("title^3", "content", "sellerId.text")
+                    .type(TextQueryType.CrossFields)
+                    .operator(Operator.And)
+            ));
+        }
+
+        return boolQueryBuilder.build();
+    }
+
+    private static Query terms(String field, List<FieldValue> values) {
+        return Query.of(q -> q.terms(t -> t.field(field).terms(v -> v.value(values))));
+    }
+}
@@ -0,0 +1,117 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 검색어를 통신사 / 데이터 크기 / 판매 상태 / 가격 범위 / 일반 단어로 분류합니다.
+ * 정규식은 모두 클래스 로딩 시 한 번만 컴파일되며, 인스턴스는 상태가 없어 여러 스레드에서 공유해도 됩니다.
+ */
+public class FeedQueryParser {
+
+    // "10 기가", "5000 원"처럼 숫자와 단위 사이의 공백을 붙여 한 단어로 만듦
+    private static final Pattern SPLIT_UNIT = Pattern.compile("(\\d+)\\s+(gb|기가|mb|메가|만원|원)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // "5gb", "5기가", "500mb" 등 (정규화 후 소문자)
+    private static final Pattern DATA_PATTERN = Pattern.compile("(\\d+)(gb|기가|mb|메가)");
+    // "1만원이하", "5000원이상", "3000원" (단독 금액은 상한으로 취급)
+    private static final Pattern PRICE_PATTERN = Pattern.compile("(\\d+)(만)?원(이하|미만|이상|초과)?");
+    // "5000~10000원", "1만~2만원"
+    private static final Pattern PRICE_RANGE_PATTERN = Pattern.compile("(\\d+)(만)?원?~(\\d+)(만)?원");
+
+    // synonym_filter의 동의어 목록과 맞춤
+    private static final Map<String, String> TELECOM_ALIASES = Map.ofEntries(
+            Map.entry("skt", "SKT"), Map.entry("에스케이티", "SKT"), Map.entry("스크", "SKT"),
+            Map.entry("kt", "KT"), Map.entry("케이티", "KT"),
+            Map.entry("lgu", "LGU"), Map.entry("lgu+", "LGU"), Map.entry("유플러스", "LGU"),
+            Map.entry("엘지유플러스", "LGU"), Map.entry("엘지", "LGU")
+    );
+
+    private static final Map<String, String> PROGRESS_ALIASES = Map.of(
+            "selling", "SELLING", "판매중", "SELLING",
+            "reserved", "RESERVED", "예약중", "RESERVED",
+            "sold_out", "SOLD_OUT", "판매완료", "SOLD_OUT", "거래완료", "SOLD_OUT"
+    );
+
+    // 캐시 키로 쓰는 정규화된 검색어: 앞뒤 공백 제거, 연속 공백 하나로, 소문자, 숫자-단위 붙이기
+    public static String normalize(String rawQuery) {
+        String collapsed = WHITESPACE.matcher(rawQuery.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return SPLIT_UNIT.matcher(collapsed).replaceAll("$1$2");
+    }
+
+    // normalize()를 거친 검색어를 받습니다.
+    public ParsedQuery parse(String normalizedQuery) {
+        Set<String> telecoms = new LinkedHashSet<>();
+        Set<Long> dataSizes = new LinkedHashSet<>();
+        List<String> dataWords = new ArrayList<>();
+        Set<String> progresses = new LinkedHashSet<>();
+        Long minPrice = null;
+        Long maxPrice = null;
+        List<String> textWords = new ArrayList<>();
+
+        for (String word : normalizedQuery.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String telecom = TELECOM_ALIASES.get(word);
+            if (telecom != null) {
+                telecoms.add(telecom);
+                continue;
+            }
+            String progress = PROGRESS_ALIASES.get(word);
+            if (progress != null) {
+                progresses.add(progress);
+                continue;
+            }
+            // 숫자로 시작하지 않는 단어는 정규식을 돌릴 필요가 없음
+            if (!Character.isDigit(word.charAt(0))) {
+                textWords.add(word);
+                continue;
+            }
+
+            Matcher data = DATA_PATTERN.matcher(word);
+            if (data.matches()) {
+                long size = Long.parseLong(data.group(1));
+                dataSizes.add(isGigabyte(data.group(2)) ? size * 1000L : size);
+                dataWords.add(word);
+                continue;
+            }
+            Matcher range = PRICE_RANGE_PATTERN.matcher(word);
+            if (range.matches()) {
+                minPrice = won(range.group(1), range.group(2));
+                maxPrice = won(range.group(3), range.group(4));
+                continue;
+            }
+            Matcher price = PRICE_PATTERN.matcher(word);
+            if (price.matches()) {
+                long amount = won(price.group(1), price.group(2));
+                String bound = price.group(3);
+                if (bound == null || bound.equals("이하")) {
+                    maxPrice = amount;
+                } else if (bound.equals("미만")) {
+                    maxPrice = amount - 1;
+                } else if (bound.equals("이상")) {
+                    minPrice = amount;
+                } else {
+                    minPrice = amount + 1;
+                }
+                continue;
+            }
+            textWords.add(word);
+        }
+
+        return new ParsedQuery(Collections.unmodifiableSet(telecoms), Collections.unmodifiableSet(dataSizes),
+                List.copyOf(dataWords), Collections.unmodifiableSet(progresses), minPrice, maxPrice, List.copyOf(textWords));
+    }
+
+    private static boolean isGigabyte(String unit) {
+        return unit.equals("gb") || unit.equals("기가");
+    }
+
+    private static long won(String amount, String man) {
+        long value = Long.parseLong(amount);
+        return man != null ? value * 10_000L : value;
+    }
+}
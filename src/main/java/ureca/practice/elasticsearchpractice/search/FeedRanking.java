@@ -0,0 +1,95 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionBoostMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScore;
+import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScoreMode;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.query.RescorerQuery;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties;
+
+import java.util.List;
+
+/**
+ * 관련도 검색의 랭킹 단계. 점수 함수는 모두 doc values(createdAt, pricePerMb, progress)만 읽으며 스크립트를 쓰지 않습니다.
+ * - INLINE: 검색어 쿼리를 function_score로 감싸 모든 일치 문서에 적용 (커서 검색처럼 rescore를 쓸 수 없는 경우)
+ * - RESCORE: 1차 검색(BM25 + filter)의 샤드별 상위 rescoreWindow건에만 적용.
+ *   점수를 내는 검색어가 없는 필터 전용 검색은 1차 점수가 모두 같아 상위 window가 임의로 뽑히므로 INLINE으로 처리하고,
+ *   from+size가 window를 넘는 페이지도 window 밖 문서가 랭킹 없이 섞여 나오므로 INLINE으로 처리
+ * 최종 점수 = 검색어 점수 + 각 함수 점수의 합
+ */
+@Component
+public class FeedRanking {
+
+    private final FeedSearchProperties.Ranking config;
+    private final List<FunctionScore> functions;
+
+    public FeedRanking(FeedSearchProperties properties) {
+        this.config = properties.getRanking();
+        this.functions = List.of(
+                FunctionScore.of(f -> f
+                        .exp(d -> d.date(dd -> dd
+                                .field("createdAt")
+                                .placement(p -> p
+                                        .origin("now")
+                                        .scale(t -> t.time(config.getFreshnessScale()))
+                                        .offset(t -> t.time(config.getFreshnessOffset()))
+                                        .decay(config.getFreshnessDecay()))))
+                        .weight(config.getFreshnessWeight())),
+                // pricePerMb가 없는 문서(데이터 양 미입력)는 감쇠 함수가 최고 점수(1)를 주므로 값이 있는 문서에만 적용
+                FunctionScore.of(f -> f
+                        .filter(q -> q.exists(e -> e.field("pricePerMb")))
+                        .exp(d -> d.numeric(nd -> nd
+                                .field("pricePerMb")
+                                .placement(p -> p
+                                        .origin(0.0)
+                                        .scale(config.getPricePerMbScale())
+                                        .decay(config.getPricePerMbDecay()))))
+                        .weight(config.getPricePerMbWeight())),
+                FunctionScore.of(f -> f
+                        .filter(q -> q.term(t -> t.field("progress").value("SELLING")))
+                        .weight(config.getSellingWeight()))
+        );
+    }
+
+    // 이번 검색에 적용할 랭킹 방식. 관련도 정렬이 아니면 랭킹을 쓰지 않음 (pageEnd: 요청한 페이지의 from + size)
+    public FeedSearchProperties.Ranking.Mode mode(SortMode sortMode, ParsedQuery parsed, long pageEnd) {
+        if (sortMode != SortMode.RELEVANCE) {
+            return FeedSearchProperties.Ranking.Mode.NONE;
+        }
+        boolean scored = !parsed.textWords().isEmpty() || !parsed.dataWords().isEmpty();
+        if (config.getMode() == FeedSearchProperties.Ranking.Mode.RESCORE && (!scored || pageEnd > config.getRescoreWindow())) {
+            return FeedSearchProperties.Ranking.Mode.INLINE;
+        }
+        return config.getMode();
+    }
+
+    // search_after와 rescore는 함께 쓸 수 없는 커서 검색처럼 랭킹 적용 여부만 필요할 때
+    public boolean ranked(SortMode sortMode) {
+        return sortMode == SortMode.RELEVANCE && config.getMode() != FeedSearchProperties.Ranking.Mode.NONE;
+    }
+
+    // INLINE 모드: 검색어 점수에 랭킹 점수를 더한 쿼리
+    public Query inline(Query query) {
+        return Query.of(q -> q.functionScore(fs -> fs
+                .query(query)
+                .functions(functions)
+                .scoreMode(FunctionScoreMode.Sum)
+                .boostMode(FunctionBoostMode.Sum)));
+    }
+
+    // RESCORE 모드: 상위 window건의 점수에 랭킹 점수를 더하는 rescore 단계
+    public RescorerQuery rescorer() {
+        Query rankingOnly = Query.of(q -> q.functionScore(fs -> fs
+                .query(m -> m.matchAll(a -> a))
+                .functions(functions)
+                .scoreMode(FunctionScoreMode.Sum)
+                .boostMode(FunctionBoostMode.Replace)));
+        return new RescorerQuery(NativeQuery.builder().withQuery(rankingOnly).build())
+                .withWindowSize(config.getRescoreWindow())
+                .withQueryWeight(1.0f)
+                .withRescoreQueryWeight(1.0f)
+                .withScoreMode(RescorerQuery.ScoreMode.Total);
+    }
+}
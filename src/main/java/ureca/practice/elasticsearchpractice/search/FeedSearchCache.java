@@ -0,0 +1,119 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.CacheLoads;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties;
+import ureca.practice.elasticsearchpractice.dto.FeedDto;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * unifiedSearch 결과 캐시. 키는 (정규화된 검색어, 범위 조건, 정렬 방식, 페이지, 크기, 버전)입니다.
+ * - 같은 키에 대한 동시 미스는 하나의 ES 호출 결과를 공유합니다. (ES 호출은 캐시의 잠금 밖에서 실행, CacheLoads 참고)
+ * - 무효화는 버전을 올려 기존 항목을 한 번에 버리는 방식입니다. 새 글은 어느 페이지에 들어갈지 알 수 없으므로
+ *   페이지 단위로 골라 지우지 않습니다.
+ * - 게시글 변경은 ES에서 검색에 보이게 된 뒤에 버전을 올립니다. (wait_for면 즉시, 아니면 refresh_interval 뒤)
+ *   그 전에 올리면 refresh 전의 결과가 새 버전으로 다시 캐시됩니다.
+ * - 재색인/동의어 재로딩처럼 결과 전체가 바뀌는 경우에도 같은 방식으로 즉시 무효화합니다.
+ */
+@Component
+@Slf4j
+public class FeedSearchCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final AsyncCache<Key, Page<FeedDto.SearchItem>> cache;
+    private final AtomicLong version = new AtomicLong();
+    // 예약된 무효화 중 가장 늦은 시각 (System.nanoTime 기준)
+    private final AtomicLong scheduledAt = new AtomicLong(System.nanoTime());
+    private final ScheduledExecutorService invalidator = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("feed-search-cache-invalidate").daemon().factory());
+
+    // 예약 시각을 이 단위로 올림해 연속된 쓰기의 무효화를 하나로 묶음
+    private static final long SCHEDULE_TICK_NANOS = Duration.ofMillis(100).toNanos();
+
+    public FeedSearchCache(FeedSearchProperties properties) {
+        FeedSearchProperties.ResultCache config = properties.getResultCache();
+        this.enabled = config.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Page<FeedDto.SearchItem> get(String normalizedQuery, SearchFilter filter, SortMode sortMode, Pageable pageable,
+                                        Supplier<Page<FeedDto.SearchItem>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(normalizedQuery, filter, sortMode, pageable.getPageNumber(), pageable.getPageSize(), version.get());
+        return CacheLoads.get(cache, key, loader);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "feed.search-result");
+    }
+
+    /**
+     * 게시글 변경을 ES에 보낸 뒤 호출. 변경이 검색에 보이게 될 시점(delay 뒤)에 버전을 올립니다.
+     * delay가 0이면(wait_for로 이미 보이는 경우) 즉시 올립니다.
+     */
+    public void invalidateAfter(Duration delay) {
+        if (!enabled) {
+            return;
+        }
+        if (delay.isZero() || delay.isNegative()) {
+            invalidateAll();
+            return;
+        }
+        long now = System.nanoTime();
+        // refresh 자체에 걸리는 시간을 감안해 한 단위 더 기다림
+        long due = (Math.ceilDiv(now + delay.toNanos(), SCHEDULE_TICK_NANOS) + 1) * SCHEDULE_TICK_NANOS;
+        long previous;
+        do {
+            previous = scheduledAt.get();
+            // 같은 시각이나 그 뒤에 이미 예약돼 있으면 그 무효화가 이번 변경도 덮음
+            if (previous - due >= 0) {
+                return;
+            }
+        } while (!scheduledAt.compareAndSet(previous, due));
+        invalidator.schedule(this::invalidateAll, due - now, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        invalidator.shutdownNow();
+    }
+
+    // 검색 결과 전체가 바뀌는 경우(재색인, 동의어 변경, 관리자 요청)에 호출
+    public void invalidateAll() {
+        version.incrementAndGet();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private record Key(String query, SearchFilter filter, SortMode sortMode, int page, int size, long version) {
+    }
+}
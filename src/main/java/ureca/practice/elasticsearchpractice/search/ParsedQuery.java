@@ -0,0 +1,80 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * FeedQueryParser가 검색어를 분류한 결과.
+ *
+ * @param telecoms    telecomCompanyId 값 (SKT, KT, LGU)
+ * @param dataSizesMb 데이터 크기 (MB 단위)
+ * @param dataWords   데이터 크기로 인식된 원래 단어 ("10기가") - 제목/내용 phrase 가산점용
+ * @param progresses  판매 상태 (SELLING, RESERVED, SOLD_OUT)
+ * @param minPrice    최소 가격 (없으면 null)
+ * @param maxPrice    최대 가격 (없으면 null)
+ * @param textWords   위 어디에도 해당하지 않는 일반 단어
+ */
+public record ParsedQuery(
+        Set<String> telecoms,
+        Set<Long> dataSizesMb,
+        List<String> dataWords,
+        Set<String> progresses,
+        Long minPrice,
+        Long maxPrice,
+        List<String> textWords
+) {
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    // 지표 태그용 검색어 형태: 단어가 여러 개면 multi-word, 하나면 그 단어의 종류
+    public String shape() {
+        int words = telecoms.size() + dataWords.size() + progresses.size() + textWords.size() + (hasPriceRange() ? 1 : 0);
+        if (words == 0) {
+            return "match-all";
+        }
+        if (words > 1) {
+            return "multi-word";
+        }
+        if (!telecoms.isEmpty()) {
+            return "telecom";
+        }
+        if (!dataWords.isEmpty()) {
+            return "data-size";
+        }
+        if (!progresses.isEmpty()) {
+            return "progress";
+        }
+        if (hasPriceRange()) {
+            return "price";
+        }
+        return "free-text";
+    }
+
+    /**
+     * 로그용 검색어 템플릿: 인식된 조건은 정규화된 값으로, 일반 단어는 ?로 가립니다.
+     * (예: "kt 10기가 급처 싸게" → "telecom=[KT] data=[10000MB] text=[?, ?]")
+     */
+    public String template() {
+        StringJoiner joiner = new StringJoiner(" ");
+        if (!telecoms.isEmpty()) {
+            joiner.add("telecom=" + new TreeSet<>(telecoms));
+        }
+        if (!dataSizesMb.isEmpty()) {
+            joiner.add("data=" + new TreeSet<>(dataSizesMb).stream().map(mb -> mb + "MB").toList());
+        }
+        if (!progresses.isEmpty()) {
+            joiner.add("progress=" + new TreeSet<>(progresses));
+        }
+        if (hasPriceRange()) {
+            joiner.add("price=" + (minPrice != null ? minPrice : "") + ".." + (maxPrice != null ? maxPrice : ""));
+        }
+        if (!textWords.isEmpty()) {
+            joiner.add("text=" + Collections.nCopies(textWords.size(), "?"));
+        }
+        return joiner.length() == 0 ? "match-all" : joiner.toString();
+    }
+}
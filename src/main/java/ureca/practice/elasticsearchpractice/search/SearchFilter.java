@@ -0,0 +1,82 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색어와 별개로 요청 파라미터로 받는 구조화된 조건. 범위 조건은 모두 filter 절이라 점수에 영향이 없습니다.
+ *
+ * @param minPrice       최소 가격 (원, 포함)
+ * @param maxPrice       최대 가격 (원, 포함)
+ * @param minDataMb      최소 데이터 양 (MB, 포함)
+ * @param maxDataMb      최대 데이터 양 (MB, 포함)
+ * @param createdFrom    작성일 시작 (포함). 판매 완료 글 검색 시 이 기간의 월별 파티션만 조회
+ * @param createdTo      작성일 끝 (포함)
+ * @param includeSoldOut 판매 완료 글(archive 인덱스)까지 검색할지 여부
+ */
+public record SearchFilter(Long minPrice, Long maxPrice, Integer minDataMb, Integer maxDataMb,
+                           LocalDate createdFrom, LocalDate createdTo, boolean includeSoldOut) {
+
+    public static final SearchFilter NONE = new SearchFilter(null, null, null, null, null, null, false);
+
+    // 범위 조건이 하나도 없는지 (includeSoldOut은 보지 않음). 커서 JSON에 속성으로 들어가지 않도록 @JsonIgnore
+    @JsonIgnore
+    public boolean isEmpty() {
+        return minPrice == null && maxPrice == null && minDataMb == null && maxDataMb == null && !hasCreatedRange();
+    }
+
+    @JsonIgnore
+    public boolean hasCreatedRange() {
+        return createdFrom != null || createdTo != null;
+    }
+
+    // 검색어 쿼리에 범위 조건을 덧붙임 (조건이 없으면 그대로 반환)
+    public Query apply(Query query) {
+        if (isEmpty()) {
+            return query;
+        }
+        List<Query> filters = new ArrayList<>();
+        if (minPrice != null || maxPrice != null) {
+            filters.add(range("salesPrice", minPrice, maxPrice));
+        }
+        if (minDataMb != null || maxDataMb != null) {
+            filters.add(range("salesDataAmount", minDataMb, maxDataMb));
+        }
+        if (hasCreatedRange()) {
+            filters.add(createdRange());
+        }
+        return Query.of(q -> q.bool(b -> b.must(query).filter(filters)));
+    }
+
+    // 날짜 단위로 받아 문서와 같은 시간대로 해석 (끝 날짜는 그날 전체를 포함)
+    private Query createdRange() {
+        return Query.of(q -> q.range(r -> r.date(d -> {
+            d.field("createdAt").format("strict_date").timeZone(TransactionFeedDocument.ZONE.getId());
+            if (createdFrom != null) {
+                d.gte(createdFrom.toString());
+            }
+            if (createdTo != null) {
+                d.lt(createdTo.plusDays(1).toString());
+            }
+            return d;
+        })));
+    }
+
+    private static Query range(String field, Number min, Number max) {
+        return Query.of(q -> q.range(r -> r.number(n -> {
+            n.field(field);
+            if (min != null) {
+                n.gte(min.doubleValue());
+            }
+            if (max != null) {
+                n.lte(max.doubleValue());
+            }
+            return n;
+        })));
+    }
+}
@@ -0,0 +1,65 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 검색 단계별 Micrometer 지표.
+ * - feed.search.stage{stage=parse|es|map, shape}: 파싱, ES 호출(응답 JSON 파싱과 TransactionFeedDocument 변환 포함), DTO 변환
+ * - feed.search.es.took{shape}: ES가 응답에 보고한 took (client 관측값과의 차이 = 네트워크 + 역직렬화)
+ * 설정한 임계값보다 느린 검색은 표본 비율에 따라 로그로 남깁니다. (사용자가 입력한 일반 단어는 남기지 않도록 ParsedQuery.template만 기록)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchMetrics {
+
+    private final MeterRegistry registry;
+    private final FeedSearchProperties properties;
+
+    public <T> T stage(String stage, String shape, Supplier<T> work) {
+        return stageTimer(stage, shape).record(work);
+    }
+
+    public void recordStage(String stage, String shape, long nanos) {
+        stageTimer(stage, shape).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEsCall(String shape, long clientNanos, Duration took) {
+        stageTimer("es", shape).record(clientNanos, TimeUnit.NANOSECONDS);
+        if (took != null) {
+            Timer.builder("feed.search.es.took")
+                    .tag("shape", shape)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(took);
+        }
+    }
+
+    public void logIfSlow(String queryTemplate, String shape, long clientNanos, Duration took) {
+        FeedSearchProperties.SlowQuery config = properties.getSlowQuery();
+        if (clientNanos < config.getThreshold().toNanos()
+                || ThreadLocalRandom.current().nextDouble() >= config.getSampleRate()) {
+            return;
+        }
+        log.warn("🐢 느린 검색: query=\"{}\", shape={}, client={}ms, took={}ms",
+                queryTemplate, shape, TimeUnit.NANOSECONDS.toMillis(clientNanos), took != null ? took.toMillis() : -1);
+    }
+
+    private Timer stageTimer(String stage, String shape) {
+        return Timer.builder("feed.search.stage")
+                .tag("stage", stage)
+                .tag("shape", shape)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
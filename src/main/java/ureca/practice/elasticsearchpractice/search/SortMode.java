@@ -0,0 +1,26 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * 검색 결과 정렬 방식. 동점이면 최신 글이 먼저 오도록 createdAt을 두 번째 키로 둡니다.
+ * RECENT는 인덱스 정렬(index.sort: createdAt desc)과 같은 순서라 ES가 세그먼트를 끝까지 읽지 않고 멈출 수 있습니다.
+ */
+public enum SortMode {
+
+    RELEVANCE(Sort.by(Sort.Order.desc("_score"), Sort.Order.desc("createdAt"))),
+    PRICE_ASC(Sort.by(Sort.Order.asc("salesPrice"), Sort.Order.desc("createdAt"))),
+    PRICE_DESC(Sort.by(Sort.Order.desc("salesPrice"), Sort.Order.desc("createdAt"))),
+    PRICE_PER_MB(Sort.by(Sort.Order.asc("pricePerMb"), Sort.Order.desc("createdAt"))),
+    RECENT(Sort.by(Sort.Order.desc("createdAt")));
+
+    private final Sort sort;
+
+    SortMode(Sort sort) {
+        this.sort = sort;
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+}
@@ -0,0 +1,78 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * binlog에서 읽은 게시글 ID를 모아두는 버퍼. 같은 ID가 여러 번 바뀌어도 한 번만 색인합니다.
+ * 버퍼가 완전히 비워졌을 때만 마지막 커밋 위치를 체크포인트 후보로 돌려주므로,
+ * 체크포인트 이전의 변경은 모두 ES에 반영된 상태가 됩니다.
+ * 계속 실패하는 ID가 체크포인트를 영원히 막지 않도록 ID별 실패 횟수를 세어 한도를 넘으면 버퍼에서 내보냅니다.
+ */
+class CdcBuffer {
+
+    private final LinkedHashSet<String> ids = new LinkedHashSet<>();
+    private BinlogPosition committed;
+    // 연속으로 색인에 실패한 횟수 (성공하면 지움)
+    private final Map<String, Integer> attempts = new HashMap<>();
+
+    synchronized void add(String id) {
+        ids.add(id);
+    }
+
+    // 트랜잭션 커밋(XID) 이벤트의 다음 위치
+    synchronized void commit(BinlogPosition position) {
+        committed = position;
+    }
+
+    synchronized Batch drain(int maxIds) {
+        List<String> drained = new ArrayList<>(Math.min(maxIds, ids.size()));
+        Iterator<String> it = ids.iterator();
+        while (it.hasNext() && drained.size() < maxIds) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return new Batch(drained, ids.isEmpty() ? committed : null);
+    }
+
+    /**
+     * 반영한 배치의 결과를 기록합니다. 실패한 ID는 다시 넣어 다음 주기에 재시도하고,
+     * maxAttempts번 연속 실패한 ID는 다시 넣지 않고 돌려줍니다. (호출한 쪽이 다른 경로로 넘겨야 함)
+     */
+    synchronized List<String> complete(Collection<String> batch, Collection<String> failed, int maxAttempts) {
+        List<String> exhausted = new ArrayList<>();
+        for (String id : batch) {
+            if (!failed.contains(id)) {
+                attempts.remove(id);
+            }
+        }
+        for (String id : failed) {
+            int count = attempts.merge(id, 1, Integer::sum);
+            if (count >= maxAttempts) {
+                attempts.remove(id);
+                exhausted.add(id);
+            } else {
+                ids.add(id);
+            }
+        }
+        return exhausted;
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+
+    record BinlogPosition(String filename, long position) {
+    }
+
+    /**
+     * @param position 이 배치까지 반영하면 저장해도 되는 위치 (남은 ID가 있으면 null)
+     */
+    record Batch(List<String> ids, BinlogPosition position) {
+    }
+}
@@ -0,0 +1,247 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import com.github.shyiko.mysql.binlog.BinaryLogClient;
+import com.github.shyiko.mysql.binlog.event.DeleteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.Event;
+import com.github.shyiko.mysql.binlog.event.EventHeaderV4;
+import com.github.shyiko.mysql.binlog.event.EventType;
+import com.github.shyiko.mysql.binlog.event.TableMapEventData;
+import com.github.shyiko.mysql.binlog.event.UpdateRowsEventData;
+import com.github.shyiko.mysql.binlog.event.WriteRowsEventData;
+import com.github.shyiko.mysql.binlog.event.deserialization.EventDeserializer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+import ureca.practice.elasticsearchpractice.entity.FeedCdcCheckpoint;
+import ureca.practice.elasticsearchpractice.entity.FeedIndexOutbox;
+import ureca.practice.elasticsearchpractice.repository.FeedCdcCheckpointRepository;
+import ureca.practice.elasticsearchpractice.repository.FeedIndexOutboxRepository;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * transaction_feed 테이블의 MySQL binlog(ROW 포맷)를 복제 클라이언트로 읽어 Elasticsearch에 반영하는 CDC 파이프라인.
+ * 서비스를 거치지 않은 변경(관리자 SQL, 배치, is_deleted 직접 수정)도 색인됩니다.
+ *
+ * - 행 이벤트에서는 게시글 ID만 꺼내 버퍼에 모으고, window마다 FeedIndexRelay.sync로 최신 DB 상태를 _bulk 반영합니다.
+ *   (같은 ID의 연속된 변경은 한 번만 색인, binlog_row_metadata나 컬럼 순서 변경에 영향받지 않음)
+ * - 버퍼가 모두 반영된 뒤에만 마지막 커밋 위치를 feed_cdc_checkpoint에 저장하므로, 재시작하면 그 위치부터 다시 읽습니다.
+ *   (최소 한 번 반영. 색인은 멱등이므로 중복 반영돼도 결과가 같음)
+ * - maxAttempts번 연속 실패한 게시글은 outbox로 넘겨 FeedIndexRelay의 재시도/dead 처리에 맡기고 체크포인트를 진행합니다.
+ * - 서비스를 거치지 않은 변경도 있으므로 읽어 온 게시글은 단건 조회 캐시에서 지웁니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "feed.indexing.cdc", name = "enabled", havingValue = "true")
+@Slf4j
+public class FeedBinlogCdc implements SmartLifecycle, MeterBinder {
+
+    private static final String CHECKPOINT_NAME = "transaction_feed";
+
+    private final FeedIndexRelay relay;
+    private final FeedCdcCheckpointRepository checkpointRepository;
+    private final FeedIndexOutboxRepository outboxRepository;
+    private final FeedDetailCache detailCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedIndexingProperties.Cdc config;
+
+    private final CdcBuffer buffer = new CdcBuffer();
+    // binlog의 table id → transaction_feed 여부 (TABLE_MAP 이벤트로 갱신)
+    private final Set<Long> feedTableIds = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("feed-cdc-flush").daemon().factory());
+
+    private BinaryLogClient client;
+    private int idColumnIndex;
+    private CdcBuffer.BinlogPosition savedPosition;
+    private volatile long lastEventTimestamp;
+    private volatile boolean running;
+
+    public FeedBinlogCdc(FeedIndexRelay relay, FeedCdcCheckpointRepository checkpointRepository,
+                         FeedIndexOutboxRepository outboxRepository, FeedDetailCache detailCache,
+                         JdbcTemplate jdbcTemplate, FeedIndexingProperties properties) {
+        this.relay = relay;
+        this.checkpointRepository = checkpointRepository;
+        this.outboxRepository = outboxRepository;
+        this.detailCache = detailCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = properties.getCdc();
+    }
+
+    @Override
+    public void start() {
+        idColumnIndex = resolveIdColumnIndex();
+
+        client = new BinaryLogClient(config.getHost(), config.getPort(), config.getUsername(), config.getPassword());
+        client.setServerId(config.getServerId());
+        EventDeserializer deserializer = new EventDeserializer();
+        // 문자열 컬럼을 byte[]로 받아 직접 UTF-8로 디코딩 (라이브러리 기본 charset 처리에 의존하지 않음)
+        deserializer.setCompatibilityMode(EventDeserializer.CompatibilityMode.CHAR_AND_BINARY_AS_BYTE_ARRAY);
+        client.setEventDeserializer(deserializer);
+
+        checkpointRepository.findById(CHECKPOINT_NAME).ifPresentOrElse(checkpoint -> {
+            client.setBinlogFilename(checkpoint.getBinlogFilename());
+            client.setBinlogPosition(checkpoint.getBinlogPosition());
+            savedPosition = new CdcBuffer.BinlogPosition(checkpoint.getBinlogFilename(), checkpoint.getBinlogPosition());
+            log.info("binlog CDC 재개: {}:{}", checkpoint.getBinlogFilename(), checkpoint.getBinlogPosition());
+        }, () -> log.warn("binlog 체크포인트가 없어 현재 위치부터 읽습니다. 이전 변경은 재색인으로 반영하세요."));
+        client.registerEventListener(this::onEvent);
+
+        try {
+            // 별도 스레드에서 읽기 시작하고 연결될 때까지 대기 (끊기면 keepAlive로 자동 재접속)
+            client.connect(TimeUnit.SECONDS.toMillis(10));
+        } catch (IOException | TimeoutException e) {
+            throw new IllegalStateException("binlog에 연결할 수 없습니다.", e);
+        }
+        long windowMs = config.getWindow().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, windowMs, windowMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+            client.disconnect();
+        } catch (IOException e) {
+            log.warn("binlog 연결 종료 실패", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 마지막으로 모인 변경까지 반영하고 체크포인트 저장
+        flushSafely();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("feed.cdc.buffered", buffer, CdcBuffer::size)
+                .description("binlog에서 읽었지만 아직 ES에 반영하지 않은 게시글 수")
+                .register(registry);
+        Gauge.builder("feed.cdc.lag", this, cdc -> cdc.lastEventTimestamp == 0 ? 0 : System.currentTimeMillis() - cdc.lastEventTimestamp)
+                .description("마지막으로 읽은 binlog 이벤트의 발생 후 경과 시간")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void onEvent(Event event) {
+        EventType type = event.getHeader().getEventType();
+        if (type == EventType.TABLE_MAP) {
+            TableMapEventData data = event.getData();
+            if (config.getDatabase().equals(data.getDatabase()) && config.getTable().equals(data.getTable())) {
+                feedTableIds.add(data.getTableId());
+            }
+        } else if (EventType.isWrite(type)) {
+            WriteRowsEventData data = event.getData();
+            if (feedTableIds.contains(data.getTableId())) {
+                data.getRows().forEach(row -> buffer.add(idOf(row)));
+            }
+        } else if (EventType.isUpdate(type)) {
+            UpdateRowsEventData data = event.getData();
+            if (feedTableIds.contains(data.getTableId())) {
+                data.getRows().forEach(row -> buffer.add(idOf(row.getValue())));
+            }
+        } else if (EventType.isDelete(type)) {
+            DeleteRowsEventData data = event.getData();
+            if (feedTableIds.contains(data.getTableId())) {
+                data.getRows().forEach(row -> buffer.add(idOf(row)));
+            }
+        } else if (type == EventType.XID) {
+            EventHeaderV4 header = event.getHeader();
+            buffer.commit(new CdcBuffer.BinlogPosition(client.getBinlogFilename(), header.getNextPosition()));
+        }
+        lastEventTimestamp = event.getHeader().getTimestamp();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("binlog CDC 반영 실패, 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    private synchronized void flush() {
+        while (true) {
+            CdcBuffer.Batch batch = buffer.drain(config.getBatchSize());
+            if (!batch.ids().isEmpty()) {
+                // DB는 이미 커밋된 상태이므로 색인 결과와 관계없이 캐시된 단건 조회 결과를 지움
+                detailCache.evict(batch.ids());
+                Map<String, String> failures = relay.sync(batch.ids()).failures();
+                List<String> exhausted = buffer.complete(batch.ids(), failures.keySet(), config.getMaxAttempts());
+                if (!exhausted.isEmpty()) {
+                    handOff(exhausted, failures);
+                }
+                if (failures.size() > exhausted.size()) {
+                    return;
+                }
+            }
+            if (batch.position() != null) {
+                saveCheckpoint(batch.position());
+                return;
+            }
+        }
+    }
+
+    // 계속 실패하는 게시글은 outbox에 남겨 relay가 재시도하게 하고(한도를 넘으면 dead로 남음) 버퍼에서는 뺌
+    private void handOff(List<String> ids, Map<String, String> failures) {
+        try {
+            outboxRepository.insertAllInBatch(ids.stream().map(FeedIndexOutbox::index).toList());
+        } catch (RuntimeException e) {
+            // outbox에 남기지 못했으면 버퍼로 되돌려 체크포인트가 이 변경을 건너뛰지 않게 함
+            ids.forEach(buffer::add);
+            throw e;
+        }
+        ids.forEach(id -> log.warn("binlog CDC 색인이 {}번 실패해 outbox로 넘깁니다. id={}, reason={}",
+                config.getMaxAttempts(), id, failures.get(id)));
+    }
+
+    private void saveCheckpoint(CdcBuffer.BinlogPosition position) {
+        if (position.equals(savedPosition)) {
+            return;
+        }
+        FeedCdcCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                .orElseGet(() -> FeedCdcCheckpoint.builder().name(CHECKPOINT_NAME).build());
+        checkpoint.update(position.filename(), position.position());
+        checkpointRepository.save(checkpoint);
+        savedPosition = position;
+    }
+
+    // 행 이미지는 컬럼 순서대로 값이 들어 있으므로 기본 키 컬럼의 위치를 스키마에서 찾아둠
+    private int resolveIdColumnIndex() {
+        List<Integer> ordinals = jdbcTemplate.queryForList(
+                "SELECT ordinal_position FROM information_schema.columns " +
+                        "WHERE table_schema = ? AND table_name = ? AND column_name = 'transaction_feed_id'",
+                Integer.class, config.getDatabase(), config.getTable());
+        if (ordinals.isEmpty()) {
+            throw new IllegalStateException("transaction_feed_id 컬럼을 찾을 수 없습니다. table=" + config.getTable());
+        }
+        return ordinals.getFirst() - 1;
+    }
+
+    private String idOf(Serializable[] row) {
+        Serializable value = row[idColumnIndex];
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,208 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+import ureca.practice.elasticsearchpractice.dto.FeedDto;
+import ureca.practice.elasticsearchpractice.entity.FeedIndexOutbox;
+import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
+import ureca.practice.elasticsearchpractice.repository.FeedIndexOutboxRepository;
+import ureca.practice.elasticsearchpractice.repository.TransactionFeedRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 판매자 대량 등록/수정/삭제.
+ * 1) 하나의 트랜잭션에서 게시글과 outbox를 JDBC batch로 저장하고
+ * 2) 커밋 후 방금 만든 outbox 항목을 한 번의 _bulk로 바로 반영해 항목별 결과를 돌려줍니다.
+ *    (outbox 항목은 저장할 때 점유해 두어 relay가 같은 항목을 동시에 보내지 않음)
+ * 필수 값이 빠진 항목은 INVALID, 없는 글은 NOT_FOUND로 항목별로 보고하고 나머지는 그대로 처리합니다.
+ * 색인에 실패한 항목은 outbox에 남아 FeedIndexRelay가 재시도합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class FeedBulkService {
+
+    private final TransactionFeedRepository feedRepository;
+    private final FeedIndexOutboxRepository outboxRepository;
+    private final FeedIndexRelay feedIndexRelay;
+    private final FeedDetailCache detailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final FeedIndexingProperties properties;
+
+    public FeedDto.BulkResponse createFeeds(List<FeedDto.Request> requests) {
+        checkSize(requests.size());
+        // 잘못된 항목 하나 때문에 배치 전체가 롤백되지 않도록 저장 전에 항목별로 거름
+        List<FeedDto.BulkItemResult> items = new ArrayList<>();
+        List<Integer> accepted = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String error = createError(requests.get(i));
+            if (error != null) {
+                items.add(invalid(i, null, error));
+            } else {
+                accepted.add(i);
+            }
+        }
+        List<FeedIndexOutbox> outboxes = transactionTemplate.execute(status -> {
+            // UUID는 애플리케이션에서 생성되므로 hibernate.jdbc.batch_size 단위로 묶여 insert됨
+            List<TransactionFeed> saved = feedRepository.saveAll(accepted.stream().map(i -> requests.get(i).toEntity()).toList());
+            return outboxRepository.insertAllInBatch(saved.stream()
+                    .map(feed -> claimed(FeedIndexOutbox.index(feed.getTransactionFeedId())))
+                    .toList());
+        });
+
+        Map<Integer, String> createdIds = new HashMap<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            createdIds.put(accepted.get(k), outboxes.get(k).getTransactionFeedId());
+        }
+        return FeedDto.BulkResponse.of(withIndexResults(requests.size(), items, outboxes, FeedDto.BulkItemStatus.CREATED, createdIds::get));
+    }
+
+    public FeedDto.BulkResponse updateFeeds(List<FeedDto.BulkUpdateItem> requests) {
+        checkSize(requests.size());
+        List<FeedDto.BulkItemResult> items = new ArrayList<>(requests.size());
+        List<FeedIndexOutbox> outboxes = transactionTemplate.execute(status -> {
+            Map<String, TransactionFeed> feeds = findActive(requests.stream()
+                    .filter(item -> item != null && StringUtils.hasText(item.getTransactionFeedId()))
+                    .map(FeedDto.BulkUpdateItem::getTransactionFeedId)
+                    .toList());
+            List<FeedIndexOutbox> pending = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                FeedDto.BulkUpdateItem item = requests.get(i);
+                // 잘못된 항목 하나 때문에 배치 전체가 롤백되지 않도록 그 항목만 실패 처리
+                String error = updateError(item);
+                if (error != null) {
+                    items.add(invalid(i, item != null ? item.getTransactionFeedId() : null, error));
+                    continue;
+                }
+                TransactionFeed feed = feeds.get(item.getTransactionFeedId());
+                if (feed == null) {
+                    items.add(notFound(i, item.getTransactionFeedId()));
+                    continue;
+                }
+                FeedDto.Request request = item.getFeed();
+                // 변경 감지로 커밋 시점에 hibernate.order_updates 설정에 따라 batch update
+                feed.update(request.getTitle(), request.getContent(), request.getSalesPrice(), request.getSalesDataAmount(), request.getProgress());
+                detailCache.evictAfterCommit(feed.getTransactionFeedId());
+                pending.add(claimed(FeedIndexOutbox.index(feed.getTransactionFeedId())));
+            }
+            return outboxRepository.insertAllInBatch(pending);
+        });
+        return FeedDto.BulkResponse.of(withIndexResults(requests.size(), items, outboxes, FeedDto.BulkItemStatus.UPDATED,
+                i -> requests.get(i).getTransactionFeedId()));
+    }
+
+    public FeedDto.BulkResponse deleteFeeds(List<String> ids) {
+        checkSize(ids.size());
+        List<FeedDto.BulkItemResult> items = new ArrayList<>(ids.size());
+        List<FeedIndexOutbox> outboxes = transactionTemplate.execute(status -> {
+            Map<String, TransactionFeed> feeds = findActive(ids.stream().filter(StringUtils::hasText).toList());
+            List<FeedIndexOutbox> pending = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (!StringUtils.hasText(ids.get(i))) {
+                    items.add(invalid(i, ids.get(i), "transactionFeedId는 필수입니다."));
+                    continue;
+                }
+                TransactionFeed feed = feeds.get(ids.get(i));
+                if (feed == null) {
+                    items.add(notFound(i, ids.get(i)));
+                    continue;
+                }
+                feed.delete();
+                detailCache.evictAfterCommit(feed.getTransactionFeedId());
+                pending.add(claimed(FeedIndexOutbox.delete(feed.getTransactionFeedId())));
+            }
+            return outboxRepository.insertAllInBatch(pending);
+        });
+        return FeedDto.BulkResponse.of(withIndexResults(ids.size(), items, outboxes, FeedDto.BulkItemStatus.DELETED, ids::get));
+    }
+
+    // 커밋 직후 이 요청이 직접 반영하므로 relay가 같은 항목을 동시에 가져가지 않게 점유
+    private FeedIndexOutbox claimed(FeedIndexOutbox outbox) {
+        return outbox.claimFor(properties.getRelay().getClaimLease());
+    }
+
+    // DB 반영이 끝난 항목들에 색인 결과를 붙이고, 거절된 항목(NOT_FOUND, INVALID)과 함께 요청 순서대로 정렬
+    private List<FeedDto.BulkItemResult> withIndexResults(int total, List<FeedDto.BulkItemResult> rejected,
+                                                         List<FeedIndexOutbox> outboxes, FeedDto.BulkItemStatus status,
+                                                         Function<Integer, String> idAt) {
+        FeedDocumentIndexer.BulkResult indexed = feedIndexRelay.flush(outboxes);
+        Map<Integer, FeedDto.BulkItemResult> byIndex = rejected.stream()
+                .collect(Collectors.toMap(FeedDto.BulkItemResult::getIndex, Function.identity()));
+        List<FeedDto.BulkItemResult> items = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            FeedDto.BulkItemResult rejectedItem = byIndex.get(i);
+            items.add(rejectedItem != null ? rejectedItem : indexedResult(i, idAt.apply(i), status, indexed));
+        }
+        return items;
+    }
+
+    private Map<String, TransactionFeed> findActive(List<String> ids) {
+        return feedRepository.findAllById(ids).stream()
+                .filter(feed -> !feed.isDeleted())
+                .collect(Collectors.toMap(TransactionFeed::getTransactionFeedId, Function.identity()));
+    }
+
+    private FeedDto.BulkItemResult indexedResult(int index, String id, FeedDto.BulkItemStatus status,
+                                                 FeedDocumentIndexer.BulkResult indexed) {
+        if (indexed.failed(id)) {
+            return FeedDto.BulkItemResult.builder()
+                    .index(index).transactionFeedId(id).status(FeedDto.BulkItemStatus.INDEX_PENDING)
+                    .error(indexed.failures().get(id))
+                    .build();
+        }
+        return FeedDto.BulkItemResult.builder().index(index).transactionFeedId(id).status(status).build();
+    }
+
+    private FeedDto.BulkItemResult notFound(int index, String id) {
+        return FeedDto.BulkItemResult.builder()
+                .index(index).transactionFeedId(id).status(FeedDto.BulkItemStatus.NOT_FOUND)
+                .error("게시글을 찾을 수 없습니다. id=" + id)
+                .build();
+    }
+
+    private FeedDto.BulkItemResult invalid(int index, String id, String error) {
+        return FeedDto.BulkItemResult.builder()
+                .index(index).transactionFeedId(id).status(FeedDto.BulkItemStatus.INVALID)
+                .error(error)
+                .build();
+    }
+
+    // 저장 시 제약 조건 위반으로 트랜잭션 전체가 실패하지 않도록 미리 확인 (문제가 없으면 null)
+    private static String createError(FeedDto.Request request) {
+        if (request == null) {
+            return "feed는 필수입니다.";
+        }
+        if (!StringUtils.hasText(request.getSellerId()) || !StringUtils.hasText(request.getTelecomCompanyId())) {
+            return "sellerId와 telecomCompanyId는 필수입니다.";
+        }
+        return contentError(request);
+    }
+
+    private static String updateError(FeedDto.BulkUpdateItem item) {
+        if (item == null || !StringUtils.hasText(item.getTransactionFeedId()) || item.getFeed() == null) {
+            return "transactionFeedId와 feed는 필수입니다.";
+        }
+        return contentError(item.getFeed());
+    }
+
+    private static String contentError(FeedDto.Request request) {
+        if (request.getContent() != null && request.getContent().length() > TransactionFeed.MAX_CONTENT_LENGTH) {
+            return "content는 최대 " + TransactionFeed.MAX_CONTENT_LENGTH + "자입니다.";
+        }
+        return null;
+    }
+
+    private void checkSize(int size) {
+        if (size > properties.getMaxBulkItems()) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 게시글은 최대 " + properties.getMaxBulkItems() + "개입니다. size=" + size);
+        }
+    }
+}
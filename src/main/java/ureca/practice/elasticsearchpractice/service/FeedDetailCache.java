@@ -0,0 +1,108 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ureca.practice.elasticsearchpractice.config.CacheLoads;
+import ureca.practice.elasticsearchpractice.config.FeedDetailCacheProperties;
+import ureca.practice.elasticsearchpractice.dto.FeedDto;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * getFeed 단건 조회용 read-through 캐시.
+ * 항목 수가 아니라 추정 바이트로 크기를 제한하고, 없는 ID도 짧게 기억해(negative caching) 반복 조회가 DB로 가지 않게 합니다.
+ */
+@Component
+public class FeedDetailCache implements MeterBinder {
+
+    // 빈 Optional 항목과 객체 헤더 등의 고정 비용 추정치
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+    private static final int RESPONSE_OVERHEAD_BYTES = 160;
+
+    private final boolean enabled;
+    private final AsyncCache<String, Optional<FeedDto.Response>> cache;
+
+    public FeedDetailCache(FeedDetailCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        long ttlNanos = properties.getTtl().toNanos();
+        long negativeTtlNanos = properties.getNegativeTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String id, Optional<FeedDto.Response> value) ->
+                        ENTRY_OVERHEAD_BYTES + sizeOf(id) + value.map(FeedDetailCache::estimateBytes).orElse(0))
+                .expireAfter(new Expiry<String, Optional<FeedDto.Response>>() {
+                    @Override
+                    public long expireAfterCreate(String id, Optional<FeedDto.Response> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, Optional<FeedDto.Response> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, Optional<FeedDto.Response> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<FeedDto.Response> get(String id, Supplier<Optional<FeedDto.Response>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // DB 조회는 캐시 잠금 밖에서 실행 (CacheLoads 참고)
+        return CacheLoads.get(cache, id, loader);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "feed.detail");
+    }
+
+    // 수정/삭제 트랜잭션이 커밋된 뒤에 비움 (커밋 전에 비우면 다른 요청이 이전 값을 다시 채울 수 있음)
+    public void evictAfterCommit(String id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidate(id);
+                }
+            });
+        } else {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    // 서비스를 거치지 않은 변경(binlog CDC로 읽은 변경)은 이미 커밋된 상태이므로 바로 비움
+    public void evict(Collection<String> ids) {
+        cache.synchronous().invalidateAll(ids);
+    }
+
+    private static int estimateBytes(FeedDto.Response response) {
+        return RESPONSE_OVERHEAD_BYTES
+                + sizeOf(response.getTransactionFeedId())
+                + sizeOf(response.getSellerId())
+                + sizeOf(response.getTelecomCompanyId())
+                + sizeOf(response.getTitle())
+                + sizeOf(response.getContent())
+                + sizeOf(response.getProgress());
+    }
+
+    // 한글이 섞인 문자열은 UTF-16으로 저장되므로 글자당 2바이트로 잡음
+    private static int sizeOf(String value) {
+        return value == null ? 0 : 40 + value.length() * 2;
+    }
+}
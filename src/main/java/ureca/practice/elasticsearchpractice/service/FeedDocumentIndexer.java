@@ -0,0 +1,208 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchProperties;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.ConcurrencyLimiter;
+import ureca.practice.elasticsearchpractice.config.ElasticsearchClientConfig;
+import ureca.practice.elasticsearchpractice.config.FeedElasticsearchProperties;
+import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * TransactionFeedDocument 색인/삭제를 하나의 _bulk 요청으로 묶어 보내는 컴포넌트.
+ * 문서 ID로 게시글 ID를 그대로 사용하므로 같은 요청을 여러 번 보내도 결과가 같습니다.
+ *
+ * 판매 상태에 따라 hot 인덱스(판매중/예약중)와 archive 파티션(판매 완료, createdAt 월별) 중 한 곳에 색인하고,
+ * 다른 쪽에서는 같은 ID를 지워 상태가 바뀐 글이 두 인덱스에 동시에 남지 않게 합니다.
+ * archive 파티션의 존재 여부는 FeedIndexManager가 캐시한 목록으로 확인하고, 없는 파티션은 판매 완료 글을 쓸 때만 만듭니다.
+ */
+@Component
+@Slf4j
+public class FeedDocumentIndexer {
+
+    private static final String INDEX_NOT_FOUND = "index_not_found_exception";
+
+    // 검색용 기본 소켓 타임아웃 대신 _bulk 전용 타임아웃을 쓰는 클라이언트
+    private final ElasticsearchClient bulkClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final FeedIndexManager indexManager;
+
+    public FeedDocumentIndexer(ElasticsearchClient elasticsearchClient, ElasticsearchOperations elasticsearchOperations,
+                               ConcurrencyLimiter concurrencyLimiter, FeedIndexManager indexManager,
+                               ElasticsearchProperties elasticsearchProperties, FeedElasticsearchProperties properties) {
+        this.bulkClient = elasticsearchClient.withTransportOptions(ElasticsearchClientConfig.socketTimeout(
+                properties.getBulkSocketTimeout(), elasticsearchProperties, properties));
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.indexManager = indexManager;
+    }
+
+    public BulkResult bulk(Collection<TransactionFeedDocument> upserts, Collection<Delete> deletes) throws IOException {
+        return bulk(indexManager.liveTargets(), upserts, deletes, Refresh.False);
+    }
+
+    /**
+     * refresh=wait_for면 반영된 문서가 검색에 보이게 된 뒤 응답합니다. (작성자 본인의 단건 쓰기용)
+     * refresh를 강제하지 않고 다음 주기 refresh를 기다리므로 세그먼트가 잘게 쪼개지지 않습니다.
+     */
+    public BulkResult bulk(Collection<TransactionFeedDocument> upserts, Collection<Delete> deletes, Refresh refresh) throws IOException {
+        return bulk(indexManager.liveTargets(), upserts, deletes, refresh);
+    }
+
+    // 재색인처럼 alias가 아닌 특정 인덱스에 직접 써야 할 때 사용
+    public BulkResult bulk(Targets targets, Collection<TransactionFeedDocument> upserts, Collection<Delete> deletes) throws IOException {
+        return bulk(targets, upserts, deletes, Refresh.False);
+    }
+
+    private BulkResult bulk(Targets targets, Collection<TransactionFeedDocument> upserts, Collection<Delete> deletes,
+                            Refresh refresh) throws IOException {
+        if (upserts.isEmpty() && deletes.isEmpty()) {
+            return new BulkResult(0, Map.of());
+        }
+
+        // Spring Data와 동일한 변환기를 사용해야 createdAt 등의 포맷이 매핑과 일치합니다.
+        ElasticsearchConverter converter = elasticsearchOperations.getElasticsearchConverter();
+        // 재색인 중 새 버전에 처음 적재하는 문서는 반대쪽 인덱스에 있을 수 없으므로 교차 삭제를 하지 않음
+        boolean live = targets.equals(indexManager.liveTargets());
+        // 파티션 존재 여부는 캐시된 목록으로 확인 (캐시가 만료됐을 때만 ES에 조회)
+        Set<String> archiveIndices = concurrencyLimiter.withElasticsearch(() -> indexManager.archiveIndices(targets.archive()));
+        // 파티션 도입 전의 단일 archive 인덱스 (재색인 전까지 판매 완료 글이 남아 있음)
+        boolean legacyArchive = live && archiveIndices.contains(targets.archive());
+
+        List<BulkOperation> operations = new ArrayList<>(2 * (upserts.size() + deletes.size()));
+        for (TransactionFeedDocument doc : upserts) {
+            // createdAt은 바뀌지 않으므로 판매 상태가 바뀌어도 archive 쪽 파티션은 항상 같음
+            YearMonth month = FeedIndexManager.monthOf(Objects.requireNonNullElseGet(doc.getCreatedAt(), Instant::now));
+            String partition = FeedIndexManager.partitionName(targets.archive(), month);
+            if (doc.isArchived()) {
+                if (indexManager.retained(month)) {
+                    if (archiveIndices.add(partition)) {
+                        indexManager.ensurePartition(targets, month);
+                    }
+                    operations.add(BulkOperation.of(b -> b.index(i -> i
+                            .index(partition)
+                            .id(doc.getId())
+                            .document(converter.mapObject(doc))
+                    )));
+                }
+                if (live) {
+                    // 없는 문서의 삭제는 not_found로 끝나며 실패로 보지 않음
+                    operations.add(BulkOperation.of(b -> b.delete(d -> d.index(targets.hot()).id(doc.getId()))));
+                }
+            } else {
+                operations.add(BulkOperation.of(b -> b.index(i -> i
+                        .index(targets.hot())
+                        .id(doc.getId())
+                        .document(converter.mapObject(doc))
+                )));
+                // 없는 인덱스의 삭제는 실패가 되므로 파티션이 있을 때만 지움
+                if (live && archiveIndices.contains(partition)) {
+                    operations.add(BulkOperation.of(b -> b.delete(d -> d.index(partition).id(doc.getId()))));
+                }
+            }
+            if (legacyArchive) {
+                operations.add(BulkOperation.of(b -> b.delete(d -> d.index(targets.archive()).id(doc.getId()))));
+            }
+        }
+
+        List<String> unknownCreatedAt = new ArrayList<>();
+        for (Delete delete : deletes) {
+            operations.add(BulkOperation.of(b -> b.delete(d -> d.index(targets.hot()).id(delete.id()))));
+            if (delete.createdAt() == null) {
+                unknownCreatedAt.add(delete.id());
+                continue;
+            }
+            String partition = FeedIndexManager.partitionName(targets.archive(), FeedIndexManager.monthOf(delete.createdAt()));
+            if (archiveIndices.contains(partition)) {
+                operations.add(BulkOperation.of(b -> b.delete(d -> d.index(partition).id(delete.id()))));
+            }
+            if (legacyArchive) {
+                operations.add(BulkOperation.of(b -> b.delete(d -> d.index(targets.archive()).id(delete.id()))));
+            }
+        }
+
+        Map<String, String> failures = new LinkedHashMap<>();
+        if (!unknownCreatedAt.isEmpty() && !archiveIndices.isEmpty()) {
+            // DB에서 행이 사라져 createdAt을 모르는 글만 archive 전체에서 ID로 지움 (드묾)
+            List<String> indices = List.copyOf(archiveIndices);
+            try {
+                // delete_by_query는 검색으로 대상을 찾으므로 아직 refresh되지 않은 문서도 보이도록 먼저 refresh
+                // (delete_by_query는 wait_for를 지원하지 않으므로 refresh 없이 보냄. hot 쪽 삭제는 _bulk의 refresh를 따름)
+                concurrencyLimiter.withElasticsearch(() -> bulkClient.indices().refresh(r -> r.index(indices).ignoreUnavailable(true)));
+                concurrencyLimiter.withElasticsearch(() -> bulkClient.deleteByQuery(d -> d
+                        .index(indices)
+                        .ignoreUnavailable(true)
+                        .query(q -> q.ids(i -> i.values(unknownCreatedAt)))
+                        .conflicts(Conflicts.Proceed)));
+            } catch (ElasticsearchException e) {
+                unknownCreatedAt.forEach(id -> failures.put(id, e.getMessage()));
+            }
+        }
+
+        BulkResponse response = concurrencyLimiter.withElasticsearch(() -> bulkClient.bulk(r -> r.operations(operations).refresh(refresh)));
+
+        if (response.errors()) {
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() != null) {
+                    failures.put(item.id(), item.error().reason());
+                    if (INDEX_NOT_FOUND.equals(item.error().type())) {
+                        // 캐시한 목록에 있던 인덱스가 그 사이 지워짐. 다음 요청에서 목록을 다시 읽고 재시도
+                        indexManager.invalidateArchiveIndices();
+                    }
+                }
+            }
+            log.warn("_bulk 일부 실패: {}건 / {}건", failures.size(), upserts.size() + deletes.size());
+        }
+        return new BulkResult(upserts.size() + deletes.size() - failures.size(), failures);
+    }
+
+    /**
+     * 삭제할 게시글. createdAt으로 archive 파티션을 정해 _bulk로 바로 지웁니다.
+     *
+     * @param createdAt 작성 시각 (DB에서 행이 사라져 알 수 없으면 null, 이때는 archive 전체에서 ID로 지움)
+     */
+    public record Delete(String id, Instant createdAt) {
+    }
+
+    /**
+     * 판매 상태별로 쓸 인덱스 (hot은 평소에는 alias, 재색인 중에는 새 버전 인덱스. archive는 버전의 월별 파티션 접두어)
+     */
+    public record Targets(String hot, String archive) {
+
+        @Override
+        public String toString() {
+            return hot + ", " + archive;
+        }
+    }
+
+    /**
+     * @param succeeded 성공한 항목 수 (이미 없는 문서의 삭제도 성공으로 봅니다)
+     * @param failures  실패한 문서 ID와 사유
+     */
+    public record BulkResult(int succeeded, Map<String, String> failures) {
+        public boolean failed(String id) {
+            return failures.containsKey(id);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.ReloadSearchAnalyzersResponse;
+import co.elastic.clients.elasticsearch.indices.get.Feature;
+import co.elastic.clients.elasticsearch.indices.stats.IndexStats;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchProperties;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.ElasticsearchClientConfig;
+import ureca.practice.elasticsearchpractice.config.FeedElasticsearchProperties;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * transaction_feeds(hot: 판매중/예약중)와 transaction_feeds_archive(판매 완료) alias, 그리고 그 뒤의
+ * 버전 인덱스(transaction_feeds_vN, transaction_feeds_archive_vN_yyyy.MM)를 관리합니다.
+ * 빈 초기화 시(relay/CDC 같은 스케줄 작업이 시작되기 전) alias가 없으면 v1을 만들어 연결하고, 재색인 후에는 두 alias를 한 번에 원자적으로 교체합니다.
+ *
+ * 계속 쌓이기만 하는 판매 완료 글은 createdAt 기준 월별 파티션으로 나눕니다. archive alias는 모든 파티션을 읽고,
+ * 쓰기는 문서의 createdAt으로 정해지는 파티션에 직접 합니다. (판매 완료는 작성 후 한참 뒤에도 일어나므로
+ * 쓰는 시점 기준 rollover 대신 작성 월로 나눠야 같은 글이 항상 같은 파티션에 있습니다)
+ */
+@Component
+@Slf4j
+public class FeedIndexManager {
+
+    private static final String ALIAS = TransactionFeedDocument.INDEX_ALIAS;
+    private static final String ARCHIVE_ALIAS = TransactionFeedDocument.ARCHIVE_ALIAS;
+    private static final Pattern VERSION_PATTERN =
+            Pattern.compile("(?:" + Pattern.quote(ALIAS) + "|" + Pattern.quote(ARCHIVE_ALIAS) + ")_v(\\d+)(?:_(\\d{4}\\.\\d{2}))?");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("uuuu.MM");
+
+    // 관리 작업은 검색용 기본 소켓 타임아웃(수 초) 대신 관리용 타임아웃을 씀
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final FeedIndexingProperties properties;
+
+    // 존재를 확인한 파티션 (없는 파티션에 쓰면 매핑 없는 인덱스가 자동 생성되므로 쓰기 전에 확인)
+    private final Set<String> knownPartitions = ConcurrentHashMap.newKeySet();
+    // 접두어별 archive 인덱스 목록 (_bulk/검색마다 GET을 보내지 않도록 partition.indexCacheTtl 동안 재사용)
+    private final Map<String, ArchiveIndices> archiveIndexCache = new ConcurrentHashMap<>();
+    // 단건/relay 색인이 쓰는 대상. hot은 alias, archive는 현재 버전의 파티션 접두어
+    private volatile FeedDocumentIndexer.Targets liveTargets;
+
+    public FeedIndexManager(ElasticsearchClient elasticsearchClient, ElasticsearchOperations elasticsearchOperations,
+                            FeedIndexingProperties properties, ElasticsearchProperties elasticsearchProperties,
+                            FeedElasticsearchProperties elasticsearch) {
+        this.elasticsearchClient = elasticsearchClient.withTransportOptions(ElasticsearchClientConfig.socketTimeout(
+                elasticsearch.getAdminSocketTimeout(), elasticsearchProperties, elasticsearch));
+        this.elasticsearchOperations = new ElasticsearchTemplate(this.elasticsearchClient, elasticsearchOperations.getElasticsearchConverter());
+        this.properties = properties;
+    }
+
+    // liveTargets를 쓰는 빈(relay, CDC, 파티션 관리)이 동작하기 전에 쓰기 대상을 정해 둠
+    @PostConstruct
+    public void bootstrap() throws IOException {
+        boolean legacyIndex = !aliasExists(ALIAS) && elasticsearchClient.indices().exists(e -> e.index(ALIAS)).value();
+        if (!aliasExists(ALIAS) && !legacyIndex) {
+            FeedDocumentIndexer.Targets first = createIndices(nextVersion(), false);
+            swapAliases(first);
+            log.info("✅ 인덱스 {} 생성 후 alias '{}', '{}' 연결", first, ALIAS, ARCHIVE_ALIAS);
+            return;
+        }
+        if (legacyIndex) {
+            // alias 도입 이전에 만들어진 단일 인덱스. 재색인 시 alias 교체와 함께 제거됩니다.
+            log.warn("'{}'가 alias가 아닌 인덱스로 존재합니다. 재색인을 실행하면 버전 인덱스로 전환됩니다.", ALIAS);
+        }
+        liveTargets = resolveLiveTargets();
+        // archive alias가 없거나 파티션 도입 전 단일 archive 인덱스만 있으면 이번 달 파티션을 만들어 연결
+        // (기존 판매 완료 글은 재색인 시 파티션으로 옮겨짐)
+        ensurePartition(liveTargets, YearMonth.now(TransactionFeedDocument.ZONE));
+    }
+
+    // 현재 hot alias가 가리키는 버전으로 쓰기 대상을 정함 (alias가 아닌 예전 인덱스면 다음 버전 번호를 씀)
+    private FeedDocumentIndexer.Targets resolveLiveTargets() throws IOException {
+        int version = aliasedIndices(ALIAS).stream()
+                .map(VERSION_PATTERN::matcher)
+                .filter(Matcher::matches)
+                .mapToInt(m -> Integer.parseInt(m.group(1)))
+                .max()
+                .orElse(nextVersion());
+        return new FeedDocumentIndexer.Targets(ALIAS, ARCHIVE_ALIAS + "_v" + version);
+    }
+
+    public FeedDocumentIndexer.Targets liveTargets() {
+        return liveTargets;
+    }
+
+    // 같은 버전의 hot 인덱스와 이번 달 archive 파티션을 함께 생성 (alias가 빈 인덱스 목록을 가리킬 수 없으므로 파티션 하나는 미리 만듦)
+    public FeedDocumentIndexer.Targets createIndices(int version, boolean bulkLoad) {
+        String hot = createIndex(ALIAS + "_v" + version, bulkLoad);
+        String archive = ARCHIVE_ALIAS + "_v" + version;
+        String partition = partitionName(archive, YearMonth.now(TransactionFeedDocument.ZONE));
+        createIndex(partition, bulkLoad);
+        knownPartitions.add(partition);
+        return new FeedDocumentIndexer.Targets(hot, archive);
+    }
+
+    // --- archive 월별 파티션 ---
+
+    public static YearMonth monthOf(Instant createdAt) {
+        return YearMonth.from(createdAt.atZone(TransactionFeedDocument.ZONE));
+    }
+
+    public static String partitionName(String archivePrefix, YearMonth month) {
+        return archivePrefix + "_" + MONTH.format(month);
+    }
+
+    // 보존 기간 안의 글인지 (보존 기간이 지난 판매 완료 글은 archive에 쓰지 않음)
+    public boolean retained(YearMonth month) {
+        return !month.isBefore(YearMonth.now(TransactionFeedDocument.ZONE).minusMonths(properties.getPartition().getRetentionMonths()));
+    }
+
+    /**
+     * 해당 접두어로 현재 존재하는 archive 인덱스 이름들 (월별 파티션과 파티션 도입 전의 단일 인덱스).
+     * 목록은 partition.indexCacheTtl 동안 캐시하며, 이 인스턴스가 만든 파티션은 바로 포함합니다.
+     * 돌려준 Set은 호출한 쪽이 고쳐 써도 됩니다.
+     */
+    public Set<String> archiveIndices(String archivePrefix) throws IOException {
+        ArchiveIndices cached = archiveIndexCache.get(archivePrefix);
+        if (cached == null || System.nanoTime() - cached.loadedAt() >= properties.getPartition().getIndexCacheTtl().toNanos()) {
+            long loadedAt = System.nanoTime();
+            Set<String> indices = elasticsearchClient.indices()
+                    .get(g -> g.index(archivePrefix, archivePrefix + "_*")
+                            .ignoreUnavailable(true)
+                            .allowNoIndices(true)
+                            .features(Feature.Aliases))
+                    .result().keySet();
+            knownPartitions.addAll(indices);
+            cached = new ArchiveIndices(Set.copyOf(indices), loadedAt);
+            archiveIndexCache.put(archivePrefix, cached);
+        }
+        Set<String> indices = new HashSet<>(cached.names());
+        knownPartitions.stream().filter(name -> name.startsWith(archivePrefix + "_")).forEach(indices::add);
+        return indices;
+    }
+
+    // 인덱스가 밖에서 지워졌을 때처럼 캐시한 목록이 틀린 것을 알게 되면 호출 (다음 조회 때 다시 읽음)
+    public void invalidateArchiveIndices() {
+        archiveIndexCache.clear();
+    }
+
+    private boolean partitionExists(String partition) throws IOException {
+        if (knownPartitions.contains(partition)) {
+            return true;
+        }
+        boolean exists = elasticsearchClient.indices().exists(e -> e.index(partition)).value();
+        if (exists) {
+            knownPartitions.add(partition);
+        }
+        return exists;
+    }
+
+    /**
+     * 파티션이 없으면 만듭니다. 현재 쓰기 대상이면 바로 archive alias에 연결하고,
+     * 재색인 중인 새 버전이면 적재용 설정으로 만들고 alias 교체 때 한꺼번에 연결합니다.
+     */
+    public String ensurePartition(FeedDocumentIndexer.Targets targets, YearMonth month) throws IOException {
+        String partition = partitionName(targets.archive(), month);
+        if (partitionExists(partition)) {
+            return partition;
+        }
+        boolean live = targets.equals(liveTargets);
+        try {
+            createIndex(partition, !live);
+            log.info("archive 파티션 {} 생성", partition);
+        } catch (RuntimeException e) {
+            // 다른 작업자가 먼저 만든 경우
+            if (!elasticsearchClient.indices().exists(ex -> ex.index(partition)).value()) {
+                throw e;
+            }
+        }
+        if (live) {
+            elasticsearchClient.indices().updateAliases(u -> u.actions(a -> a.add(add -> add.index(partition).alias(ARCHIVE_ALIAS))));
+        }
+        knownPartitions.add(partition);
+        return partition;
+    }
+
+    /**
+     * 생성일 범위를 덮는 현재 버전의 파티션 이름들. 범위가 넓어 파티션이 maxSearchPartitions를 넘으면 null을 돌려주며,
+     * 이때는 archive alias 전체를 조회합니다. 아직 없는 달도 있을 수 있어 이름 끝에 *를 붙여 없으면 건너뛰게 합니다.
+     * 파티션 도입 전의 단일 archive 인덱스가 남아 있으면(재색인 전) 날짜와 상관없이 함께 조회합니다.
+     */
+    public List<String> archivePartitions(LocalDate from, LocalDate to) {
+        FeedIndexingProperties.Partition config = properties.getPartition();
+        YearMonth now = YearMonth.now(TransactionFeedDocument.ZONE);
+        YearMonth first = from != null ? YearMonth.from(from) : now.minusMonths(config.getRetentionMonths());
+        YearMonth last = to != null ? YearMonth.from(to) : now;
+        if (last.isAfter(now)) {
+            last = now;
+        }
+        if (first.isAfter(last)) {
+            return List.of();
+        }
+        if (first.until(last, ChronoUnit.MONTHS) + 1 > config.getMaxSearchPartitions()) {
+            return null;
+        }
+        String archivePrefix = liveTargets.archive();
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add(partitionName(archivePrefix, month) + "*");
+        }
+        try {
+            if (archiveIndices(archivePrefix).contains(archivePrefix)) {
+                partitions.add(archivePrefix);
+            }
+        } catch (IOException e) {
+            // 단일 인덱스가 있는지 모르면 빠뜨리지 않도록 alias 전체를 조회
+            log.warn("archive 인덱스 목록 조회 실패, archive 전체를 조회합니다.", e);
+            return null;
+        }
+        return partitions;
+    }
+
+    // 해당 접두어의 파티션 이름과 달
+    public Map<String, YearMonth> partitions(String archivePrefix) throws IOException {
+        Map<String, YearMonth> partitions = new TreeMap<>();
+        Set<String> indexNames = elasticsearchClient.indices()
+                .get(g -> g.index(archivePrefix + "_*").allowNoIndices(true)).result().keySet();
+        for (String indexName : indexNames) {
+            Matcher m = VERSION_PATTERN.matcher(indexName);
+            if (m.matches() && m.group(2) != null) {
+                partitions.put(indexName, YearMonth.parse(m.group(2), MONTH));
+            }
+        }
+        return partitions;
+    }
+
+    public void deletePartition(String partition) throws IOException {
+        elasticsearchClient.indices().delete(d -> d.index(partition).ignoreUnavailable(true));
+        knownPartitions.remove(partition);
+        invalidateArchiveIndices();
+    }
+
+    // @Setting/@Field 정의로 인덱스 생성. bulkLoad면 refresh와 replica를 끈 상태로 만듭니다.
+    private String createIndex(String indexName, boolean bulkLoad) {
+        IndexOperations indexOps = elasticsearchOperations.indexOps(IndexCoordinates.of(indexName));
+        Settings settings = indexOps.createSettings(TransactionFeedDocument.class);
+        if (properties.isSortByCreatedAt()) {
+            // 인덱스 정렬은 생성 시에만 지정할 수 있음
+            settings.put("index.sort.field", "createdAt");
+            settings.put("index.sort.order", "desc");
+        }
+        if (bulkLoad) {
+            settings.put("index.refresh_interval", "-1");
+            settings.put("index.number_of_replicas", 0);
+        } else {
+            settings.put("index.refresh_interval", properties.getConsistency().getRefreshInterval());
+        }
+        indexOps.create(settings, indexOps.createMapping(TransactionFeedDocument.class));
+        return indexName;
+    }
+
+    // 적재가 끝난 인덱스를 검색 가능한 상태로 되돌림
+    public void finishBulkLoad(FeedDocumentIndexer.Targets targets) throws IOException {
+        FeedIndexingProperties.Reindex config = properties.getReindex();
+        String refreshInterval = properties.getConsistency().getRefreshInterval();
+        List<String> indices = List.of(targets.hot(), targets.archive() + "_*");
+        elasticsearchClient.indices().putSettings(p -> p
+                .index(indices)
+                .settings(s -> s
+                        .refreshInterval(t -> t.time(refreshInterval))
+                        .numberOfReplicas(String.valueOf(config.getReplicas())))
+        );
+        elasticsearchClient.indices().refresh(r -> r.index(indices));
+    }
+
+    /**
+     * 검색 중인 hot/archive 인덱스의 refresh_interval을 바꾸고, 이후 만들어지는 인덱스에도 같은 값을 쓰도록 기억합니다.
+     * 재색인 중 적재 대상 인덱스는 refresh가 꺼져 있다가 적재가 끝나면 이 값으로 복구됩니다.
+     */
+    public void applyRefreshInterval(String refreshInterval) throws IOException {
+        elasticsearchClient.indices().putSettings(p -> p
+                .index(ALIAS, ARCHIVE_ALIAS)
+                .settings(s -> s.refreshInterval(t -> t.time(refreshInterval))));
+        properties.getConsistency().setRefreshInterval(refreshInterval);
+        log.info("refresh_interval 변경: {}", refreshInterval);
+    }
+
+    // 주 샤드 기준 저장 크기 (복제본 제외). 매핑 변경 전후 인덱스 크기 비교용
+    public long primaryStoreBytes(FeedDocumentIndexer.Targets targets) throws IOException {
+        return primaryStats(targets).store().sizeInBytes();
+    }
+
+    public long primaryDocCount(FeedDocumentIndexer.Targets targets) throws IOException {
+        return primaryStats(targets).docs().count();
+    }
+
+    // 파티션 도입 전의 단일 archive 인덱스가 남아 있으면 함께 셈
+    private IndexStats primaryStats(FeedDocumentIndexer.Targets targets) throws IOException {
+        List<String> indices = new ArrayList<>(List.of(targets.hot(), targets.archive() + "_*"));
+        if (archiveIndices(targets.archive()).contains(targets.archive())) {
+            indices.add(targets.archive());
+        }
+        return elasticsearchClient.indices()
+                .stats(s -> s.index(indices).metric("store", "docs"))
+                .all().primaries();
+    }
+
+    public int nextVersion() throws IOException {
+        return versions().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+    }
+
+    // 두 alias를 새 인덱스로 옮기는 작업을 하나의 _aliases 요청으로 처리해 검색 중단이 없도록 함
+    public void swapAliases(FeedDocumentIndexer.Targets targets) throws IOException {
+        List<Action> actions = new ArrayList<>();
+        addSwapActions(actions, ALIAS, targets.hot());
+        // archive alias는 새 버전의 모든 파티션을 읽고, 이전 버전 파티션(또는 파티션 도입 전 단일 인덱스)은 뗌
+        actions.add(Action.of(a -> a.add(add -> add.index(targets.archive() + "_*").alias(ARCHIVE_ALIAS))));
+        for (String old : aliasedIndices(ARCHIVE_ALIAS)) {
+            if (!old.startsWith(targets.archive() + "_")) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(old).alias(ARCHIVE_ALIAS))));
+            }
+        }
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+        liveTargets = new FeedDocumentIndexer.Targets(ALIAS, targets.archive());
+    }
+
+    private void addSwapActions(List<Action> actions, String alias, String newIndex) throws IOException {
+        actions.add(Action.of(a -> a.add(add -> add.index(newIndex).alias(alias).isWriteIndex(true))));
+        if (aliasExists(alias)) {
+            for (String old : aliasedIndices(alias)) {
+                if (!old.equals(newIndex)) {
+                    actions.add(Action.of(a -> a.remove(r -> r.index(old).alias(alias))));
+                }
+            }
+        } else if (elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+        }
+    }
+
+    // 현재 alias 대상과 최근 이전 버전 몇 개만 남기고 오래된 버전 인덱스 삭제
+    public void deleteOldVersions() throws IOException {
+        Set<String> live = new HashSet<>(aliasedIndices(ALIAS));
+        live.addAll(aliasedIndices(ARCHIVE_ALIAS));
+        List<Integer> versions = versions().stream().distinct().sorted((a, b) -> b - a).toList();
+        int keep = 1 + properties.getReindex().getRetainPreviousVersions();
+        for (int i = keep; i < versions.size(); i++) {
+            for (String indexName : versionIndices(versions.get(i))) {
+                if (!live.contains(indexName)) {
+                    deletePartition(indexName);
+                    log.info("오래된 인덱스 {} 삭제", indexName);
+                }
+            }
+        }
+    }
+
+    /**
+     * analysis/telecom_synonyms.txt를 다시 읽어 검색용 분석기(nori_search)에 반영합니다.
+     * 동의어는 검색 시점에만 적용되므로 재색인 없이 바로 효과가 있습니다.
+     * 파일은 모든 노드의 config/analysis 아래에 먼저 배포되어 있어야 합니다.
+     */
+    public ReloadSearchAnalyzersResponse reloadSearchAnalyzers() throws IOException {
+        ReloadSearchAnalyzersResponse response = elasticsearchClient.indices().reloadSearchAnalyzers(r -> r.index(ALIAS, ARCHIVE_ALIAS));
+        log.info("검색 분석기 재로딩: {}", response.reloadDetails());
+        return response;
+    }
+
+    // 와일드카드 삭제는 클러스터 설정(action.destructive_requires_name)상 막혀 있으므로 실제 이름을 모아 삭제
+    public void deleteIndices(FeedDocumentIndexer.Targets targets) throws IOException {
+        List<String> indices = new ArrayList<>(partitions(targets.archive()).keySet());
+        indices.add(targets.hot());
+        elasticsearchClient.indices().delete(d -> d.index(indices).ignoreUnavailable(true));
+        indices.forEach(knownPartitions::remove);
+        invalidateArchiveIndices();
+    }
+
+    // 한 버전에 속한 인덱스들 (hot, archive 파티션, 파티션 도입 전의 단일 archive 인덱스)
+    private List<String> versionIndices(int version) throws IOException {
+        String hot = ALIAS + "_v" + version;
+        String archive = ARCHIVE_ALIAS + "_v" + version;
+        List<String> indices = new ArrayList<>(partitions(archive).keySet());
+        for (String indexName : List.of(hot, archive)) {
+            if (elasticsearchClient.indices().exists(e -> e.index(indexName)).value()) {
+                indices.add(indexName);
+            }
+        }
+        return indices;
+    }
+
+    public Set<String> aliasedIndices(String alias) throws IOException {
+        if (!aliasExists(alias)) {
+            return Set.of();
+        }
+        return elasticsearchClient.indices().getAlias(g -> g.name(alias)).result().keySet();
+    }
+
+    private boolean aliasExists(String alias) throws IOException {
+        return elasticsearchClient.indices().existsAlias(e -> e.name(alias)).value();
+    }
+
+    private record ArchiveIndices(Set<String> names, long loadedAt) {
+    }
+
+    private List<Integer> versions() throws IOException {
+        List<Integer> versions = new ArrayList<>();
+        Set<String> indexNames = elasticsearchClient.indices()
+                .get(g -> g.index(ALIAS + "_v*", ARCHIVE_ALIAS + "_v*").allowNoIndices(true)).result().keySet();
+        for (String indexName : indexNames) {
+            Matcher m = VERSION_PATTERN.matcher(indexName);
+            if (m.matches()) {
+                versions.add(Integer.parseInt(m.group(1)));
+            }
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,234 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import co.elastic.clients.elasticsearch._types.Refresh;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
+import ureca.practice.elasticsearchpractice.dto.IndexingDto;
+import ureca.practice.elasticsearchpractice.entity.FeedIndexOutbox;
+import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
+import ureca.practice.elasticsearchpractice.repository.FeedIndexOutboxRepository;
+import ureca.practice.elasticsearchpractice.repository.TransactionFeedRepository;
+import ureca.practice.elasticsearchpractice.search.FeedSearchCache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * feed_index_outbox를 주기적으로 비워 Elasticsearch에 _bulk로 반영합니다.
+ * 배치가 batchSize만큼 차거나 가장 오래된 항목이 maxWait을 넘기면 전송하고,
+ * 실패한 항목은 남겨두었다가 다음 주기에 다시 시도합니다.
+ *
+ * 지표: feed.index.sync{result=success|failure, type=request|document}, feed.index.outbox.pending/dead, feed.index.lag
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedIndexRelay implements MeterBinder {
+
+    private final FeedIndexOutboxRepository outboxRepository;
+    private final TransactionFeedRepository feedRepository;
+    private final FeedDocumentIndexer indexer;
+    private final FeedIndexingProperties properties;
+    private final FeedSearchCache searchCache;
+    private final MeterRegistry meterRegistry;
+
+    // 지표용으로 relay 주기에 갱신해 두는 outbox 상태 (초기값은 아직 세지 않은 상태)
+    private volatile IndexingDto.LagResponse outboxSnapshot = IndexingDto.LagResponse.builder().build();
+    private volatile long outboxSnapshotAt = System.nanoTime() - Duration.ofDays(1).toNanos();
+    // 매 주기 조회하는 배치의 첫 항목 = relay가 처리할 가장 오래된 항목 (lag 지표용, 추가 조회 없음)
+    private volatile LocalDateTime oldestRelayableAt;
+
+    @Scheduled(fixedDelayString = "${feed.indexing.relay.poll-interval-ms:200}")
+    public void relay() {
+        FeedIndexingProperties.Relay config = properties.getRelay();
+        refreshOutboxSnapshot(config);
+        while (true) {
+            List<FeedIndexOutbox> batch = outboxRepository.findRelayable(
+                    config.getMaxAttempts(), LocalDateTime.now(), PageRequest.of(0, config.getBatchSize()));
+            oldestRelayableAt = batch.isEmpty() ? null : batch.get(0).getCreatedAt();
+            boolean full = batch.size() >= config.getBatchSize();
+
+            // 배치가 덜 찼고 시간 창도 지나지 않았다면 더 모았다가 보냄
+            if (batch.isEmpty() || (!full && waited(batch.get(0)).compareTo(config.getMaxWait()) < 0)) {
+                return;
+            }
+            // 가득 찬 배치가 모두 성공했을 때만 곧바로 다음 배치를 이어서 처리
+            if (!flush(batch).failures().isEmpty() || !full) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * outbox 항목들을 ES에 반영하고 성공한 항목은 삭제, 실패한 항목은 재시도 횟수를 올립니다.
+     * 대량 등록처럼 응답에 색인 결과가 필요한 경우 주기를 기다리지 않고 직접 호출합니다.
+     * 이때 항목은 저장 시 FeedIndexOutbox.claimFor로 점유해 두어야 relay가 같은 항목을 동시에 보내지 않습니다.
+     */
+    public FeedDocumentIndexer.BulkResult flush(List<FeedIndexOutbox> batch) {
+        return flush(batch, Refresh.False);
+    }
+
+    // 작성자 본인의 쓰기처럼 검색에 보일 때까지 기다려야 하면 Refresh.WaitFor
+    public FeedDocumentIndexer.BulkResult flush(List<FeedIndexOutbox> batch, Refresh refresh) {
+        // 같은 게시글에 대한 항목이 여러 개면 마지막 항목만 반영
+        Map<String, FeedIndexOutbox> latest = new LinkedHashMap<>();
+        for (FeedIndexOutbox outbox : batch) {
+            latest.put(outbox.getTransactionFeedId(), outbox);
+        }
+
+        Set<String> indexIds = latest.values().stream()
+                .filter(o -> o.getOperation() == FeedIndexOutbox.Operation.INDEX)
+                .map(FeedIndexOutbox::getTransactionFeedId)
+                .collect(Collectors.toSet());
+
+        FeedDocumentIndexer.BulkResult result;
+        try {
+            result = indexLatest(latest.keySet(), indexIds, refresh);
+        } catch (IOException | RuntimeException e) {
+            log.warn("outbox 색인 실패, 다음 주기에 재시도합니다. size={}", batch.size(), e);
+            syncCounter("failure", "request").increment(latest.size());
+            outboxRepository.incrementAttempts(batch.stream().map(FeedIndexOutbox::getOutboxId).toList());
+            return allFailed(latest.keySet(), e);
+        }
+
+        List<Long> done = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        for (FeedIndexOutbox outbox : batch) {
+            (result.failed(outbox.getTransactionFeedId()) ? failed : done).add(outbox.getOutboxId());
+        }
+        outboxRepository.deleteAllByIdInBatch(done);
+        if (!failed.isEmpty()) {
+            outboxRepository.incrementAttempts(failed);
+        }
+        return result;
+    }
+
+    /**
+     * 주어진 게시글들의 현재 DB 상태를 그대로 ES에 반영합니다. (binlog CDC와 CDC 사용 중 작성자 쓰기에서 사용, outbox는 건드리지 않음)
+     */
+    public FeedDocumentIndexer.BulkResult sync(Collection<String> feedIds) {
+        return sync(feedIds, Refresh.False);
+    }
+
+    public FeedDocumentIndexer.BulkResult sync(Collection<String> feedIds, Refresh refresh) {
+        try {
+            return indexLatest(feedIds, Set.copyOf(feedIds), refresh);
+        } catch (IOException | RuntimeException e) {
+            log.warn("CDC 색인 실패, 다음 주기에 재시도합니다. size={}", feedIds.size(), e);
+            syncCounter("failure", "request").increment(feedIds.size());
+            return allFailed(feedIds, e);
+        }
+    }
+
+    /**
+     * 색인 시점의 최신 DB 상태를 읽어 보내므로 재시도해도 결과가 같습니다.
+     * indexIds에 있고 DB에 살아있는 글은 색인, 나머지는 삭제합니다.
+     * 삭제할 글도 함께 읽어 (soft delete된 행의) createdAt으로 archive 파티션을 정합니다.
+     */
+    private FeedDocumentIndexer.BulkResult indexLatest(Collection<String> feedIds, Set<String> indexIds, Refresh refresh) throws IOException {
+        Map<String, TransactionFeed> feeds = feedRepository.findAllById(Set.copyOf(feedIds)).stream()
+                .collect(Collectors.toMap(TransactionFeed::getTransactionFeedId, Function.identity()));
+
+        List<TransactionFeedDocument> upserts = new ArrayList<>();
+        List<FeedDocumentIndexer.Delete> deletes = new ArrayList<>();
+        for (String id : feedIds) {
+            TransactionFeed feed = feeds.get(id);
+            if (indexIds.contains(id) && feed != null && !feed.isDeleted()) {
+                upserts.add(TransactionFeedDocument.from(feed));
+            } else {
+                deletes.add(new FeedDocumentIndexer.Delete(id, feed != null && feed.getCreatedAt() != null
+                        ? feed.getCreatedAt().atZone(TransactionFeedDocument.ZONE).toInstant()
+                        : null));
+            }
+        }
+
+        FeedDocumentIndexer.BulkResult result = indexer.bulk(upserts, deletes, refresh);
+        syncCounter("success", "document").increment(result.succeeded());
+        syncCounter("failure", "document").increment(result.failures().size());
+        if (result.succeeded() > 0) {
+            searchCache.invalidateAfter(visibleAfter(refresh));
+        }
+        return result;
+    }
+
+    // 보낸 변경이 검색에 보이기까지 걸리는 시간. refresh가 꺼져(-1) 있으면 알 수 없으므로 즉시 무효화하고 캐시 TTL에 맡김
+    private Duration visibleAfter(Refresh refresh) {
+        if (refresh != Refresh.False) {
+            return Duration.ZERO;
+        }
+        Duration interval = FeedIndexingProperties.Consistency.parseRefreshInterval(
+                properties.getConsistency().getRefreshInterval());
+        return interval != null ? interval : Duration.ZERO;
+    }
+
+    private static FeedDocumentIndexer.BulkResult allFailed(Collection<String> feedIds, Exception e) {
+        Map<String, String> failures = new LinkedHashMap<>();
+        feedIds.forEach(id -> failures.put(id, e.getMessage()));
+        return new FeedDocumentIndexer.BulkResult(0, failures);
+    }
+
+    // 색인이 DB 쓰기보다 얼마나 뒤처져 있는지
+    public IndexingDto.LagResponse lag() {
+        int maxAttempts = properties.getRelay().getMaxAttempts();
+        Optional<FeedIndexOutbox> oldest = outboxRepository.findFirstByAttemptsLessThanOrderByOutboxIdAsc(maxAttempts);
+        return IndexingDto.LagResponse.builder()
+                .pendingCount(outboxRepository.countByAttemptsLessThan(maxAttempts))
+                .deadCount(outboxRepository.countByAttemptsGreaterThanEqual(maxAttempts))
+                .oldestPendingAt(oldest.map(FeedIndexOutbox::getCreatedAt).orElse(null))
+                .lagMillis(oldest.map(o -> waited(o).toMillis()).orElse(0L))
+                .build();
+    }
+
+    private void refreshOutboxSnapshot(FeedIndexingProperties.Relay config) {
+        if (System.nanoTime() - outboxSnapshotAt < config.getGaugeRefreshInterval().toNanos()) {
+            return;
+        }
+        try {
+            outboxSnapshot = lag();
+            outboxSnapshotAt = System.nanoTime();
+        } catch (RuntimeException e) {
+            log.warn("outbox 지표 갱신 실패", e);
+        }
+    }
+
+    // 지표 수집 시에는 DB를 조회하지 않고 relay가 갱신해 둔 값을 씀
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("feed.index.outbox.pending", this, relay -> relay.outboxSnapshot.getPendingCount())
+                .description("ES 반영을 기다리는 outbox 항목 수")
+                .register(registry);
+        Gauge.builder("feed.index.outbox.dead", this, relay -> relay.outboxSnapshot.getDeadCount())
+                .description("재시도 한도를 넘겨 더 이상 처리되지 않는 outbox 항목 수")
+                .register(registry);
+        Gauge.builder("feed.index.lag", this, relay -> relay.snapshotLagMillis())
+                .description("가장 오래된 미처리 outbox 항목의 대기 시간")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private long snapshotLagMillis() {
+        LocalDateTime oldest = oldestRelayableAt;
+        return oldest != null ? Duration.between(oldest, LocalDateTime.now()).toMillis() : 0L;
+    }
+
+    private Counter syncCounter(String result, String type) {
+        return meterRegistry.counter("feed.index.sync", "result", result, "type", type);
+    }
+
+    private Duration waited(FeedIndexOutbox outbox) {
+        return Duration.between(outbox.getCreatedAt(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,135 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import co.elastic.clients.elasticsearch.indices.stats.IndicesStats;
+import co.elastic.clients.json.JsonData;
+import jakarta.json.JsonNumber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.ElasticsearchClientConfig;
+import ureca.practice.elasticsearchpractice.config.FeedElasticsearchProperties;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * archive 월별 파티션의 수명 주기 관리.
+ * 다음 달 파티션을 미리 만들어 월이 바뀐 뒤 첫 색인이 인덱스 생성 비용을 치르지 않게 하고,
+ * 쓰기가 멈춘 오래된 파티션은 세그먼트 하나로 합치며, 보존 기간이 지난 파티션은 삭제합니다.
+ */
+@Component
+@Slf4j
+public class FeedPartitionMaintenance {
+
+    // force-merge를 마친 파티션에 남기는 매핑 _meta 키. 값은 병합 시점의 쓰기 누적 수로,
+    // 재시작/다른 인스턴스에서도 다시 병합하지 않되 그 뒤에 쓰기가 들어오면 다시 병합 대상이 되도록 함
+    private static final String FORCE_MERGED_META = "feed_force_merged";
+
+    // 세그먼트 통계/force-merge 요청은 관리용 소켓 타임아웃을 씀
+    private final ElasticsearchClient elasticsearchClient;
+    private final FeedIndexManager indexManager;
+    private final FeedIndexingProperties properties;
+
+    // 지난 주기에 본 파티션별 주 샤드 쓰기 누적 수 (index_total + delete_total)
+    private final Map<String, Long> lastWriteCounts = new ConcurrentHashMap<>();
+
+    public FeedPartitionMaintenance(ElasticsearchClient elasticsearchClient, FeedIndexManager indexManager,
+                                    FeedIndexingProperties properties, ElasticsearchProperties elasticsearchProperties,
+                                    FeedElasticsearchProperties elasticsearch) {
+        this.elasticsearchClient = elasticsearchClient.withTransportOptions(ElasticsearchClientConfig.socketTimeout(
+                elasticsearch.getAdminSocketTimeout(), elasticsearchProperties, elasticsearch));
+        this.indexManager = indexManager;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${feed.indexing.partition.maintenance-interval-ms:3600000}",
+            initialDelayString = "${feed.indexing.partition.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        FeedDocumentIndexer.Targets live = indexManager.liveTargets();
+        if (live == null) {
+            return;
+        }
+        try {
+            YearMonth now = YearMonth.now(TransactionFeedDocument.ZONE);
+            indexManager.ensurePartition(live, now);
+            indexManager.ensurePartition(live, now.plusMonths(1));
+            forceMergeClosed(live, now);
+            deleteExpired();
+        } catch (IOException | RuntimeException e) {
+            log.warn("archive 파티션 관리 실패, 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    /**
+     * 오래된 달의 파티션도 판매 완료 전환/삭제로 가끔 쓰기가 들어오므로, 지난 주기 이후 쓰기가 전혀 없었던 파티션만 병합합니다.
+     * (재시작 직후 첫 주기는 기준값만 기록) 병합을 요청한 파티션은 매핑 _meta에 그때의 쓰기 누적 수를 남기고,
+     * 쓰기 누적 수가 그대로인 동안은 다시 병합하지 않습니다. (노드 재시작으로 통계가 초기화되면 한 번 더 확인함)
+     */
+    private void forceMergeClosed(FeedDocumentIndexer.Targets live, YearMonth now) throws IOException {
+        YearMonth closedBefore = now.minusMonths(properties.getPartition().getForceMergeAfterMonths() - 1L);
+        List<String> closed = indexManager.partitions(live.archive()).entrySet().stream()
+                .filter(partition -> partition.getValue().isBefore(closedBefore))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (closed.isEmpty()) {
+            return;
+        }
+        Map<String, IndexMappingRecord> mappings = elasticsearchClient.indices().getMapping(g -> g.index(closed)).result();
+        Map<String, IndicesStats> stats = elasticsearchClient.indices()
+                .stats(s -> s.index(closed).metric("indexing", "segments"))
+                .indices();
+        for (String name : closed) {
+            IndicesStats partitionStats = stats.get(name);
+            if (partitionStats == null) {
+                continue;
+            }
+            long writes = partitionStats.primaries().indexing().indexTotal() + partitionStats.primaries().indexing().deleteTotal();
+            Long merged = forceMergedWrites(mappings.get(name));
+            if (merged != null && merged == writes) {
+                continue;
+            }
+            Long previous = lastWriteCounts.put(name, writes);
+            if (previous == null || previous != writes) {
+                continue;
+            }
+            long segments = partitionStats.primaries().segments().count();
+            if (segments > 1) {
+                // 병합은 오래 걸리므로 기다리지 않고 ES 작업으로 넘김
+                elasticsearchClient.indices().forcemerge(f -> f.index(name).maxNumSegments(1L).waitForCompletion(false));
+                log.info("archive 파티션 {} force-merge 요청 (세그먼트 {}개)", name, segments);
+            }
+            elasticsearchClient.indices().putMapping(p -> p
+                    .index(name)
+                    .meta(FORCE_MERGED_META, JsonData.of(writes)));
+            lastWriteCounts.remove(name);
+        }
+    }
+
+    // 병합 시점의 쓰기 누적 수 (병합한 적이 없거나 예전 형식의 표시면 null)
+    private static Long forceMergedWrites(IndexMappingRecord mapping) {
+        if (mapping == null || mapping.mappings() == null) {
+            return null;
+        }
+        JsonData marker = mapping.mappings().meta().get(FORCE_MERGED_META);
+        return marker != null && marker.toJson() instanceof JsonNumber writes ? writes.longValue() : null;
+    }
+
+    // 현재 버전뿐 아니라 롤백용으로 남겨둔 이전 버전의 파티션도 함께 정리
+    private void deleteExpired() throws IOException {
+        for (Map.Entry<String, YearMonth> partition : indexManager.partitions(TransactionFeedDocument.ARCHIVE_ALIAS + "_v*").entrySet()) {
+            if (!indexManager.retained(partition.getValue())) {
+                indexManager.deletePartition(partition.getKey());
+                lastWriteCounts.remove(partition.getKey());
+                log.info("보존 기간이 지난 archive 파티션 {} 삭제", partition.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
+import ureca.practice.elasticsearchpractice.dto.IndexingDto;
+import ureca.practice.elasticsearchpractice.entity.FeedIndexOutbox;
+import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
+import ureca.practice.elasticsearchpractice.repository.FeedIndexOutboxRepository;
+import ureca.practice.elasticsearchpractice.repository.TransactionFeedRepository;
+import ureca.practice.elasticsearchpractice.search.FeedSearchCache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * MySQL의 게시글을 새 버전 인덱스(hot/archive)로 다시 적재한 뒤 alias를 교체하는 재색인 작업.
+ * keyset 페이지 단위로 읽어 작업자들에게 넘기고, 진행 중인 페이지 수를 제한해 힙 사용량을 일정하게 유지합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedReindexJob {
+
+    // 재색인 시작 전후로 발생한 쓰기를 놓치지 않기 위해 catch-up 범위를 넉넉히 잡음
+    private static final long CATCH_UP_MARGIN_SECONDS = 60;
+
+    private final TransactionFeedRepository feedRepository;
+    private final FeedIndexOutboxRepository outboxRepository;
+    private final FeedDocumentIndexer indexer;
+    private final FeedIndexManager indexManager;
+    private final FeedIndexingProperties properties;
+    private final FeedSearchCache searchCache;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile IndexingDto.ReindexStatus status = IndexingDto.ReindexStatus.builder().state("IDLE").build();
+
+    // 이미 실행 중이면 false
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        status = IndexingDto.ReindexStatus.builder().state("RUNNING").startedAt(LocalDateTime.now()).build();
+        Thread.ofPlatform().name("feed-reindex").start(() -> {
+            try {
+                run();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public IndexingDto.ReindexStatus status() {
+        return status;
+    }
+
+    private void run() {
+        FeedIndexingProperties.Reindex config = properties.getReindex();
+        LocalDateTime startedAt = LocalDateTime.now();
+        AtomicLong indexed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        FeedDocumentIndexer.Targets targets = null;
+        String targetIndex = null;
+
+        try {
+            targets = indexManager.createIndices(indexManager.nextVersion(), true);
+            targetIndex = targets.toString();
+            status = progress("RUNNING", targetIndex, startedAt, indexed, failed, null);
+            log.info("재색인 시작: {}", targetIndex);
+
+            long loadStarted = System.nanoTime();
+            load(targets, config, indexed, failed);
+            long docsPerSecond = indexed.get() * 1_000_000_000L / Math.max(1, System.nanoTime() - loadStarted);
+            if (failed.get() > 0) {
+                throw new IllegalStateException("색인에 실패한 문서가 있어 alias를 교체하지 않습니다. failed=" + failed.get());
+            }
+
+            indexManager.finishBulkLoad(targets);
+            long storeBytes = indexManager.primaryStoreBytes(targets);
+            // 같은 실행 안에서 매핑 변경 전후 크기를 비교할 수 있도록 교체 직전의 인덱스도 잼
+            FeedDocumentIndexer.Targets previous = indexManager.liveTargets();
+            long previousStoreBytes = indexManager.primaryStoreBytes(previous);
+            long previousDocs = indexManager.primaryDocCount(previous);
+            indexManager.swapAliases(targets);
+            searchCache.invalidateAll();
+            enqueueChangedSince(startedAt.minusSeconds(CATCH_UP_MARGIN_SECONDS));
+            indexManager.deleteOldVersions();
+
+            status = progress("COMPLETED", targetIndex, startedAt, indexed, failed, null).toBuilder()
+                    .docsPerSecond(docsPerSecond)
+                    .primaryStoreBytes(storeBytes)
+                    .previousPrimaryStoreBytes(previousStoreBytes)
+                    .previousDocCount(previousDocs)
+                    .build();
+            log.info("✅ 재색인 완료: {} ({}건, {}건/s, 주 샤드 {}bytes / 이전 {}건 {}bytes)",
+                    targetIndex, indexed.get(), docsPerSecond, storeBytes, previousDocs, previousStoreBytes);
+        } catch (Exception e) {
+            log.error("재색인 실패: {}", targetIndex, e);
+            status = progress("FAILED", targetIndex, startedAt, indexed, failed, e.getMessage());
+            if (targets != null) {
+                try {
+                    indexManager.deleteIndices(targets);
+                } catch (Exception cleanup) {
+                    log.warn("실패한 인덱스 {} 정리 실패", targetIndex, cleanup);
+                }
+            }
+        }
+    }
+
+    private void load(FeedDocumentIndexer.Targets targets, FeedIndexingProperties.Reindex config,
+                      AtomicLong indexed, AtomicLong failed) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(config.getWorkers());
+        // 작업자 수의 두 배까지만 페이지를 미리 읽어둠 (backpressure)
+        Semaphore inFlight = new Semaphore(config.getWorkers() * 2);
+        AtomicReference<Exception> error = new AtomicReference<>();
+
+        try {
+            String lastId = "";
+            while (error.get() == null) {
+                List<TransactionFeed> page = feedRepository.findByTransactionFeedIdGreaterThanAndIsDeletedFalseOrderByTransactionFeedIdAsc(
+                        lastId, PageRequest.of(0, config.getBatchSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                lastId = page.getLast().getTransactionFeedId();
+                List<TransactionFeedDocument> documents = page.stream().map(TransactionFeedDocument::from).toList();
+
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        FeedDocumentIndexer.BulkResult result = indexer.bulk(targets, documents, List.of());
+                        indexed.addAndGet(result.succeeded());
+                        failed.addAndGet(result.failures().size());
+                    } catch (Exception e) {
+                        error.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                status = progress("RUNNING", targets.toString(), status.getStartedAt(), indexed, failed, null);
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.HOURS);
+        }
+        if (error.get() != null) {
+            throw error.get();
+        }
+    }
+
+    // 재색인 중 이전 인덱스로만 반영된 변경분을 outbox에 넣어 새 인덱스에도 반영되게 함
+    private void enqueueChangedSince(LocalDateTime since) {
+        int batchSize = properties.getReindex().getBatchSize();
+        String lastId = "";
+        while (true) {
+            List<String> ids = feedRepository.findIdsUpdatedSince(since, lastId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            outboxRepository.saveAll(ids.stream().map(FeedIndexOutbox::index).toList());
+            lastId = ids.getLast();
+        }
+    }
+
+    private IndexingDto.ReindexStatus progress(String state, String targetIndex, LocalDateTime startedAt,
+                                               AtomicLong indexed, AtomicLong failed, String message) {
+        boolean finished = !"RUNNING".equals(state);
+        return IndexingDto.ReindexStatus.builder()
+                .state(state)
+                .targetIndex(targetIndex)
+                .indexedCount(indexed.get())
+                .failedCount(failed.get())
+                .startedAt(startedAt)
+                .finishedAt(finished ? LocalDateTime.now() : null)
+                .message(message)
+                .build();
+    }
+}
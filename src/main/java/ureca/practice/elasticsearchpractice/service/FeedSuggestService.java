@@ -0,0 +1,91 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import ureca.practice.elasticsearchpractice.config.CacheLoads;
+import ureca.practice.elasticsearchpractice.config.ConcurrencyLimiter;
+import ureca.practice.elasticsearchpractice.config.FeedSuggestProperties;
+import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 입력 중인 검색어의 추천어(제목, 판매자 닉네임)를 completion suggester로 조회합니다.
+ * completion 필드는 메모리의 FST에서 접두어를 찾으므로 검색 쿼리를 실행하지 않고,
+ * 같은 접두어는 짧은 TTL 캐시에서 바로 돌려줍니다.
+ */
+@Service
+public class FeedSuggestService implements MeterBinder {
+
+    private static final String SUGGESTER = "feed";
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final FeedSuggestProperties properties;
+    private final AsyncCache<String, List<String>> cache;
+
+    public FeedSuggestService(ElasticsearchClient elasticsearchClient, ConcurrencyLimiter concurrencyLimiter,
+                              FeedSuggestProperties properties) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .buildAsync();
+    }
+
+    public List<String> suggest(String rawPrefix) {
+        if (!StringUtils.hasText(rawPrefix)) {
+            return List.of();
+        }
+        String prefix = rawPrefix.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (prefix.length() > properties.getMaxPrefixLength()) {
+            prefix = prefix.substring(0, properties.getMaxPrefixLength());
+        }
+        String key = prefix;
+        // ES 호출과 동시 호출 제한 대기는 캐시 잠금 밖에서 실행 (CacheLoads 참고)
+        return CacheLoads.get(cache, key, () -> load(key));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "feed.suggest");
+    }
+
+    private List<String> load(String prefix) {
+        try {
+            SearchResponse<TransactionFeedDocument> response = concurrencyLimiter.withElasticsearch(() ->
+                    elasticsearchClient.search(s -> s
+                            .index(TransactionFeedDocument.INDEX_ALIAS)
+                            .size(0)
+                            .source(src -> src.fetch(false))
+                            .suggest(sg -> sg.suggesters(SUGGESTER, fs -> fs
+                                    .prefix(prefix)
+                                    .completion(c -> c
+                                            .field("suggest")
+                                            .size(properties.getSize())
+                                            .skipDuplicates(true)))),
+                    TransactionFeedDocument.class));
+
+            return response.suggest().getOrDefault(SUGGESTER, List.of()).stream()
+                    .flatMap(suggestion -> suggestion.completion().options().stream())
+                    .map(CompletionSuggestOption::text)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import ureca.practice.elasticsearchpractice.search.SearchFilter;
+import ureca.practice.elasticsearchpractice.search.SortMode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 클라이언트에 넘겨주는 불투명한 커서 토큰.
+ * 검색어, 범위 조건, 정렬 방식, point-in-time ID, 마지막 히트의 정렬 값을 JSON으로 묶어 URL-safe Base64로 인코딩합니다.
+ */
+record SearchCursor(String query, SearchFilter filter, SortMode sortMode, String pitId, List<Object> searchAfter) {
+
+    // 작성일 범위(LocalDate)는 "2026-10-01" 형태로 담음
+    // 배포 전후로 필드가 늘거나 줄어도 발급된 커서를 계속 읽을 수 있도록 모르는 속성은 무시
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    SearchCursor {
+        filter = filter != null ? filter : SearchFilter.NONE;
+        sortMode = sortMode != null ? sortMode : SortMode.RELEVANCE;
+    }
+
+    String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("커서를 만들 수 없습니다.", e);
+        }
+    }
+
+    static SearchCursor decode(String token) {
+        try {
+            return MAPPER.readValue(Base64.getUrlDecoder().decode(token), SearchCursor.class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.", e);
+        }
+    }
+}
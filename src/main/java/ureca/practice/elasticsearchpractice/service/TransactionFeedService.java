@@ -1,29 +1,55 @@
 package ureca.practice.elasticsearchpractice.service;
 
-import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
-import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
-import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.data.elasticsearch.core.query.HighlightQuery;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.query.SourceFilter;
+import org.springframework.data.elasticsearch.core.query.highlight.Highlight;
+import org.springframework.data.elasticsearch.core.query.highlight.HighlightField;
+import org.springframework.data.elasticsearch.core.query.highlight.HighlightFieldParameters;
+import org.springframework.data.elasticsearch.core.query.highlight.HighlightParameters;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import ureca.practice.elasticsearchpractice.config.ConcurrencyLimiter;
+import ureca.practice.elasticsearchpractice.config.FeedElasticsearchProperties;
+import ureca.practice.elasticsearchpractice.config.FeedIndexingProperties;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties;
 import ureca.practice.elasticsearchpractice.document.TransactionFeedDocument;
 import ureca.practice.elasticsearchpractice.dto.FeedDto;
+import ureca.practice.elasticsearchpractice.dto.SearchDto;
+import ureca.practice.elasticsearchpractice.entity.FeedIndexOutbox;
 import ureca.practice.elasticsearchpractice.entity.TransactionFeed;
+import ureca.practice.elasticsearchpractice.repository.FeedIndexOutboxRepository;
 import ureca.practice.elasticsearchpractice.repository.TransactionFeedRepository;
-import ureca.practice.elasticsearchpractice.repository.TransactionFeedSearchRepository;
+import ureca.practice.elasticsearchpractice.search.CompiledQuery;
+import ureca.practice.elasticsearchpractice.search.FeedFacets;
+import ureca.practice.elasticsearchpractice.search.FeedRanking;
+import ureca.practice.elasticsearchpractice.search.FeedQueryCompiler;
+import ureca.practice.elasticsearchpractice.search.FeedSearchCache;
+import ureca.practice.elasticsearchpractice.search.ParsedQuery;
+import ureca.practice.elasticsearchpractice.search.SearchFilter;
+import ureca.practice.elasticsearchpractice.search.SortMode;
+import ureca.practice.elasticsearchpractice.search.SearchMetrics;
 
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,163 +57,326 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TransactionFeedService {
 
+    // 검색 결과 목록에 필요한 필드만 _source에서 받음 (content, sellerId 등은 제외)
+    private static final SourceFilter SEARCH_ITEM_SOURCE = new FetchSourceFilterBuilder()
+            .withIncludes("id", "telecomCompanyId", "title", "salesPrice", "salesDataAmount", "pricePerMb", "progress", "createdAt")
+            .build();
+
     private final TransactionFeedRepository feedRepository;
-    private final TransactionFeedSearchRepository searchRepository;
+    private final FeedIndexOutboxRepository outboxRepository;
     private final ElasticsearchOperations elasticsearchOperations;
-
-    // "5gb", "5 GB", "5기가" 등을 모두 잡아내기 위한 정규식
-    private static final Pattern DATA_PATTERN = Pattern.compile("(\\d+)\\s*(gb|기가|GB|mb|MB|메가)", Pattern.CASE_INSENSITIVE);
+    private final FeedSearchProperties searchProperties;
+    private final FeedIndexingProperties indexingProperties;
+    private final FeedQueryCompiler queryCompiler;
+    private final FeedSearchCache searchCache;
+    private final FeedDetailCache detailCache;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final SearchMetrics searchMetrics;
+    private final FeedRanking feedRanking;
+    private final FeedElasticsearchProperties elasticsearchProperties;
+    private final FeedIndexManager indexManager;
+    private final FeedIndexRelay feedIndexRelay;
+    private final TransactionTemplate transactionTemplate;
 
 
     // --- CRUD ---
 
-    @Transactional
+    @Timed(value = "feed.crud", extraTags = {"op", "create"}, histogram = true)
     public FeedDto.Response createFeed(FeedDto.Request request) {
-        // 1. DB에 저장
-        TransactionFeed savedFeed = feedRepository.save(request.toEntity());
+        Written written = transactionTemplate.execute(status -> {
+            // 1. DB에 저장
+            TransactionFeed savedFeed = feedRepository.save(request.toEntity());
 
-        // 2. Elasticsearch에 저장 (데이터 동기화)
-        searchRepository.save(TransactionFeedDocument.from(savedFeed));
+            // 2. 같은 트랜잭션에서 outbox에 기록 (ES 반영은 FeedIndexRelay가 비동기로 처리)
+            return new Written(savedFeed, enqueue(FeedIndexOutbox.index(savedFeed.getTransactionFeedId())));
+        });
 
-        return FeedDto.Response.from(savedFeed);
+        // 3. 커밋 후 작성자에게 보일 때까지 대기 (설정에 따라)
+        awaitVisible(written.feed().getTransactionFeedId(), written.outbox());
+        return FeedDto.Response.from(written.feed());
     }
 
-    @Transactional(readOnly = true)
+    // 캐시 적중 시 커넥션을 잡지 않도록 트랜잭션 없이 조회
+    @Timed(value = "feed.crud", extraTags = {"op", "get"}, histogram = true)
     public FeedDto.Response getFeed(String id) {
-        TransactionFeed feed = feedRepository.findByTransactionFeedIdAndIsDeletedFalse(id)
+        return detailCache.get(id, () -> feedRepository.findDetailByTransactionFeedIdAndIsDeletedFalse(id).map(FeedDto.Response::from))
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. id=" + id));
-        return FeedDto.Response.from(feed);
     }
 
-    @Transactional
+    @Timed(value = "feed.crud", extraTags = {"op", "update"}, histogram = true)
     public FeedDto.Response updateFeed(String id, FeedDto.Request request) {
-        // 1. DB에서 엔티티 조회 및 수정
-        TransactionFeed feed = feedRepository.findByTransactionFeedIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. id=" + id));
-        feed.update(request.getTitle(), request.getContent(), request.getSalesPrice(), request.getSalesDataAmount(), request.getProgress());
+        Written written = transactionTemplate.execute(status -> {
+            // 1. DB에서 엔티티 조회 및 수정
+            TransactionFeed feed = feedRepository.findByTransactionFeedIdAndIsDeletedFalse(id)
+                    .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. id=" + id));
+            feed.update(request.getTitle(), request.getContent(), request.getSalesPrice(), request.getSalesDataAmount(), request.getProgress());
 
-        // 2. Elasticsearch 데이터 업데이트
-        searchRepository.save(TransactionFeedDocument.from(feed));
+            // 2. Elasticsearch 데이터 업데이트 예약
+            detailCache.evictAfterCommit(id);
+            return new Written(feed, enqueue(FeedIndexOutbox.index(feed.getTransactionFeedId())));
+        });
 
-        return FeedDto.Response.from(feed);
+        awaitVisible(id, written.outbox());
+        return FeedDto.Response.from(written.feed());
     }
 
-    @Transactional
+    @Timed(value = "feed.crud", extraTags = {"op", "delete"}, histogram = true)
     public void deleteFeed(String id) {
-        // 1. DB에서 논리적 삭제
-        TransactionFeed feed = feedRepository.findByTransactionFeedIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. id=" + id));
-        feed.delete();
+        Written written = transactionTemplate.execute(status -> {
+            // 1. DB에서 논리적 삭제
+            TransactionFeed feed = feedRepository.findByTransactionFeedIdAndIsDeletedFalse(id)
+                    .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. id=" + id));
+            feed.delete();
 
-        // 2. Elasticsearch에서 데이터 삭제
-        searchRepository.deleteById(id);
+            // 2. Elasticsearch에서 데이터 삭제 예약
+            detailCache.evictAfterCommit(id);
+            return new Written(feed, enqueue(FeedIndexOutbox.delete(id)));
+        });
+
+        awaitVisible(id, written.outbox());
+    }
+
+    // binlog CDC가 켜져 있으면 커밋된 변경을 binlog에서 읽어 색인하므로 outbox를 쓰지 않음 (null 반환)
+    private FeedIndexOutbox enqueue(FeedIndexOutbox outbox) {
+        if (indexingProperties.getCdc().isEnabled()) {
+            return null;
+        }
+        if (indexingProperties.getConsistency().getAuthorWrites() == FeedIndexingProperties.Consistency.Mode.WAIT_FOR) {
+            // 커밋 직후 awaitVisible이 직접 반영하므로 relay가 같은 항목을 동시에 보내지 않게 점유
+            outbox.claimFor(indexingProperties.getRelay().getClaimLease());
+        }
+        return outboxRepository.save(outbox);
+    }
+
+    /**
+     * 작성자 본인의 쓰기는 설정(consistency.author-writes)이 WAIT_FOR면 커밋 직후 해당 글만 바로 반영하고
+     * 검색에 보일 때까지(refresh=wait_for) 기다립니다. 여기서 실패해도 outbox(또는 binlog)로 다시 반영되므로 응답은 성공입니다.
+     */
+    private void awaitVisible(String id, FeedIndexOutbox outbox) {
+        if (outbox != null) {
+            // 저장 시점의 설정을 따름 (점유하지 않은 항목은 relay가 반영)
+            if (outbox.getClaimedUntil() != null) {
+                feedIndexRelay.flush(List.of(outbox), Refresh.WaitFor);
+            }
+            return;
+        }
+        if (indexingProperties.getConsistency().getAuthorWrites() == FeedIndexingProperties.Consistency.Mode.WAIT_FOR) {
+            feedIndexRelay.sync(List.of(id), Refresh.WaitFor);
+        }
+    }
+
+    // 트랜잭션 안에서 쓴 게시글과 outbox 항목 (CDC 사용 시 outbox는 null)
+    private record Written(TransactionFeed feed, FeedIndexOutbox outbox) {
     }
 
     // --- Search ---
-    @Transactional(readOnly = true)
-    public Page<FeedDto.Response> unifiedSearch(String rawQuery, Pageable pageable) {
-        if (!StringUtils.hasText(rawQuery)) {
+    // ES만 조회하므로 DB 트랜잭션(커넥션)을 잡지 않음
+    // 검색어 없이 범위 조건만으로도 검색할 수 있음 (예: 1만원 이하 전체를 가격순으로)
+    public Page<FeedDto.SearchItem> unifiedSearch(String rawQuery, SearchFilter filter, SortMode sortMode, Pageable pageable) {
+        if (!StringUtils.hasText(rawQuery) && filter.isEmpty()) {
             return Page.empty(pageable);
         }
 
-        BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
-        String[] words = rawQuery.trim().split("\\s+");
-
-        // 검색할 통신사 목록
-        final Set<String> TELECOM_COMPANIES = Set.of("KT", "SKT", "LGU");
-
-        // === 단어가 1개일 때의 로직 수정 ===
-        if (words.length == 1) {
-            String word = words[0].toUpperCase();
-            Matcher m = DATA_PATTERN.matcher(word);
-
-            // 1. 검색어가 통신사 이름인 경우 (가장 먼저 확인)
-            if (TELECOM_COMPANIES.contains(word)) {
-                boolQueryBuilder.must(z -> z.term(t -> t
-                        .field("telecomCompanyId") // .keyword 필드 사용
-                        .value(word)
-                ));
-                log.info("✅ 통신사 필터링: {}", word);
-            } else if (m.matches()) { // .find() 대신 .matches()로 단어 전체가 패턴에 일치하는지 확인
-                long size = Long.parseLong(m.group(1));
-                String unit = m.group(2).toLowerCase();
-                long dataSizeMB = unit.matches("gb|기가") ? size * 1000L : size;
-
-                // "데이터 크기"라는 개념을 하나의 bool 쿼리로 묶어 OR 조건을 명시적으로 구현
-                BoolQuery.Builder dataQueryBuilder = new BoolQuery.Builder();
-
-                // 조건 1: salesDataAmount 필드가 정확히 일치
-                dataQueryBuilder.should(s -> s.term(t -> t
-                        .field("salesDataAmount")
-                        .value(dataSizeMB)
-                ));
-
-                // 조건 2: 제목 또는 내용에 "1기가" 텍스트가 포함
-                dataQueryBuilder.should(s -> s.multiMatch(mm -> mm
-                        .query(word)
-                        .fields("title^2", "content") // 가중치 조절
-                        .type(TextQueryType.Phrase) // Phrase 검색으로 정확도 향상 ("10기가" 등 제외)
-                ));
-
-                // 두 조건 중 하나 이상 만족해야 함
-                dataQueryBuilder.minimumShouldMatch("1");
-
-                // 이 "데이터 크기" 조건을 반드시 만족하도록 must 절에 추가
-                boolQueryBuilder.must(y -> y.bool(dataQueryBuilder.build()));
-
-            } else {
-                // 데이터 크기 패턴이 아닌 일반 단어는 기존처럼 검색
-                boolQueryBuilder.should(s -> s
-                        .multiMatch(mm -> mm
-                                .query(word)
-                                .fields("title^3", "content", "sellerIdText", "telecomCompanyText")
-                                .type(TextQueryType.BestFields)
-                        )
-                );
-            }
+        // shape는 파싱이 끝나야 알 수 있으므로 시간을 재어 두었다가 파싱 결과의 shape로 기록
+        long parseStarted = System.nanoTime();
+        CompiledQuery compiled = queryCompiler.compile(Objects.requireNonNullElse(rawQuery, ""));
+        searchMetrics.recordStage("parse", compiled.parsed().shape(), System.nanoTime() - parseStarted);
+        return searchCache.get(compiled.normalizedQuery(), filter, sortMode, pageable, () -> search(compiled, filter, sortMode, pageable));
+    }
+
+    private Page<FeedDto.SearchItem> search(CompiledQuery compiled, SearchFilter filter, SortMode sortMode, Pageable pageable) {
+        String shape = compiled.parsed().shape();
+
+        // 최종 쿼리 (정렬은 sortMode로만 정함. Pageable의 정렬이 섞이면 앞쪽 정렬 키가 바뀜)
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withPageable(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .withSourceFilter(SEARCH_ITEM_SOURCE)
+                .withHighlightQuery(snippetHighlight())
+                .withPreference(preference(compiled, filter));
+        co.elastic.clients.elasticsearch._types.query_dsl.Query base = filter.apply(compiled.query());
+        switch (feedRanking.mode(sortMode, compiled.parsed(), pageable.getOffset() + pageable.getPageSize())) {
+            // rescore는 _score 단독 정렬에서만 쓸 수 있음 (동점 처리는 최신도 점수가 대신함)
+            case RESCORE -> builder.withQuery(base)
+                    .withRescorerQuery(feedRanking.rescorer())
+                    .withSort(Sort.by(Sort.Direction.DESC, "_score"));
+            case INLINE -> builder.withQuery(feedRanking.inline(base)).withSort(sortMode.sort());
+            case NONE -> builder.withQuery(base).withSort(sortMode.sort());
+        }
+        NativeQuery query = builder.build();
+
+        SearchHits<TransactionFeedDocument> searchHits = timedSearch(query, indices(compiled, filter), compiled.parsed());
+        return searchMetrics.stage("map", shape, () -> {
+            return org.springframework.data.support.PageableExecutionUtils.getPage(
+                    searchHits.getSearchHits().stream().map(this::toSearchItem).collect(Collectors.toList()),
+                    pageable,
+                    searchHits::getTotalHits
+            );
+        });
+    }
+
+    /**
+     * 기본은 판매중/예약중 글만 있는 hot 인덱스만 조회해 작업 집합을 작게 유지합니다.
+     * 판매 완료 글을 요청했거나 검색어에 "판매완료" 같은 상태가 있으면 archive 인덱스까지 조회하며,
+     * 작성일 범위가 있으면 그 기간의 월별 파티션만 고릅니다.
+     */
+    private IndexCoordinates indices(CompiledQuery compiled, SearchFilter filter) {
+        if (!filter.includeSoldOut() && !compiled.parsed().progresses().contains(TransactionFeedDocument.ARCHIVED_PROGRESS)) {
+            return IndexCoordinates.of(TransactionFeedDocument.INDEX_ALIAS);
+        }
+        List<String> partitions = filter.hasCreatedRange() ? indexManager.archivePartitions(filter.createdFrom(), filter.createdTo()) : null;
+        if (partitions == null) {
+            return IndexCoordinates.of(TransactionFeedDocument.INDEX_ALIAS, TransactionFeedDocument.ARCHIVE_ALIAS);
+        }
+        List<String> names = new ArrayList<>(partitions);
+        names.addFirst(TransactionFeedDocument.INDEX_ALIAS);
+        return IndexCoordinates.of(names.toArray(String[]::new));
+    }
+
+    /**
+     * 같은 검색어와 필터의 요청이 매번 같은 샤드 복제본으로 가도록 하는 preference 값.
+     * 페이지를 넘겨도 복제본마다 다른 점수/순서가 섞이지 않고, 그 복제본의 캐시를 다시 쓸 수 있습니다.
+     * (정렬 방식은 샤드 선택과 무관하므로 키에 넣지 않음. PIT 검색은 PIT가 이미 복제본을 고정하므로 쓰지 않음)
+     */
+    private String preference(CompiledQuery compiled, SearchFilter filter) {
+        if (!elasticsearchProperties.isSearchPreference()) {
+            return null;
+        }
+        return "feed-" + Integer.toHexString(Objects.hash(compiled.normalizedQuery(), filter));
+    }
+
+    // 동시 호출 제한을 통과한 뒤의 ES 왕복 시간과 ES가 보고한 took을 함께 기록
+    private SearchHits<TransactionFeedDocument> timedSearch(NativeQuery query, IndexCoordinates indices, ParsedQuery parsed) {
+        String shape = parsed.shape();
+        return concurrencyLimiter.withElasticsearch(() -> {
+            long started = System.nanoTime();
+            SearchHits<TransactionFeedDocument> searchHits = elasticsearchOperations.search(query, TransactionFeedDocument.class, indices);
+            long elapsed = System.nanoTime() - started;
+            searchMetrics.recordEsCall(shape, elapsed, searchHits.getExecutionDuration());
+            searchMetrics.logIfSlow(parsed.template(), shape, elapsed, searchHits.getExecutionDuration());
+            return searchHits;
+        });
+    }
 
+    /**
+     * 검색 결과와 facet 집계(통신사, 판매 상태, 데이터 크기/가격 구간, 데이터 크기별 가격 분포)를 한 번의 ES 요청으로 조회합니다.
+     * size=0이면 집계만 계산합니다. 검색어가 없는 기본 사이드바 요청은 shard request cache를 사용하며,
+     * 이 캐시는 refresh 시 ES가 알아서 무효화합니다.
+     */
+    public SearchDto.FacetResponse facetSearch(String rawQuery, boolean includeSoldOut, int page, int size) {
+        boolean unfiltered = !StringUtils.hasText(rawQuery);
+        // 빈 검색어는 조건 없는 bool 쿼리(= 전체)로 컴파일됨
+        CompiledQuery compiled = queryCompiler.compile(Objects.requireNonNullElse(rawQuery, ""));
+        SearchFilter filter = new SearchFilter(null, null, null, null, null, null, includeSoldOut);
+
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(compiled.query())
+                .withRequestCache(unfiltered)
+                .withPreference(preference(compiled, filter));
+        FeedFacets.aggregations().forEach(builder::withAggregation);
+        if (size > 0) {
+            builder.withPageable(PageRequest.of(page, Math.min(size, searchProperties.getMaxCursorPageSize())))
+                    .withSourceFilter(SEARCH_ITEM_SOURCE)
+                    .withHighlightQuery(snippetHighlight())
+                    .withSort(Sort.by(Sort.Direction.DESC, "_score"))
+                    .withSort(Sort.by(Sort.Direction.DESC, "createdAt"));
         } else {
-            // === 단어가 2개 이상일 때의 로직 (기존과 동일) ===
-            for (String word : words) {
-                Matcher m = DATA_PATTERN.matcher(word);
-                if (m.matches()) {
-                    long size = Long.parseLong(m.group(1));
-                    String unit = m.group(2).toLowerCase();
-                    long dataSizeMB = unit.matches("gb|기가") ? size * 1000L : size;
-
-                    // 여기도 마찬가지로 OR 조건을 묶어주는 로직을 추가할 수 있습니다.
-                    // 편의상 질문에 주신 코드의 구조를 유지했습니다.
-                    boolQueryBuilder.must(s -> s.term(t -> t
-                            .field("salesDataAmount")
-                            .value(dataSizeMB)
-                    ));
-                } else {
-                    boolQueryBuilder.must(s -> s
-                            .multiMatch(mm -> mm
-                                    .query(word)
-                                    .fields("title^3", "content", "sellerIdText", "telecomCompanyText")
-                                    .type(TextQueryType.BestFields)
-                            )
-                    );
-                }
-            }
+            builder.withMaxResults(0);
         }
 
-        // 최종 쿼리
-        NativeQuery query = NativeQuery.builder()
-                .withQuery(q -> q.bool(boolQueryBuilder.build()))
-                .withPageable(pageable)
-                .withSort(Sort.by(Sort.Direction.DESC, "_score"))
-                .withSort(Sort.by(Sort.Direction.DESC, "createdAt"))
+        SearchHits<TransactionFeedDocument> searchHits = timedSearch(builder.build(), indices(compiled, filter), compiled.parsed());
+        return SearchDto.FacetResponse.builder()
+                .totalHits(searchHits.getTotalHits())
+                .items(searchHits.getSearchHits().stream().map(this::toSearchItem).toList())
+                .facets(FeedFacets.from(searchHits.getAggregations()))
                 .build();
+    }
+
+    /**
+     * search_after 커서 기반 검색. 첫 요청에서 point-in-time을 열고, 이후 요청은 커서에 담긴
+     * PIT와 마지막 정렬 값(정렬 방식의 키들과 _shard_doc)부터 이어서 조회합니다.
+     * 전체 건수를 세지 않으므로 몇 번째 페이지든 비용이 첫 페이지와 비슷합니다.
+     */
+    public FeedDto.CursorPage cursorSearch(String rawQuery, SearchFilter rawFilter, SortMode rawSortMode, String cursor, int size) {
+        SearchCursor current = StringUtils.hasText(cursor) ? SearchCursor.decode(cursor) : null;
+        // 이어서 조회할 때는 첫 요청의 조건을 그대로 사용
+        String query = current != null ? current.query() : Objects.requireNonNullElse(rawQuery, "");
+        SearchFilter filter = current != null ? current.filter() : rawFilter;
+        SortMode sortMode = current != null ? current.sortMode() : rawSortMode;
+        if (!StringUtils.hasText(query) && filter.isEmpty()) {
+            return FeedDto.CursorPage.builder().content(List.of()).hasNext(false).build();
+        }
+
+        size = Math.clamp(size, 1, searchProperties.getMaxCursorPageSize());
+        Duration keepAlive = searchProperties.getCursorKeepAlive();
+        CompiledQuery compiled = queryCompiler.compile(query);
+        // PIT가 조회할 인덱스(hot 또는 hot + archive)를 고정하므로 이후 요청도 같은 범위를 봄
+        IndexCoordinates indices = indices(compiled, filter);
+        String pitId = current != null
+                ? current.pitId()
+                : concurrencyLimiter.withElasticsearch(() -> elasticsearchOperations.openPointInTime(indices, keepAlive));
+
+        // 다음 페이지 존재 여부를 알기 위해 size + 1건 조회
+        // search_after와 rescore는 함께 쓸 수 없으므로 커서 검색은 랭킹을 쿼리에 직접 포함
+        co.elastic.clients.elasticsearch._types.query_dsl.Query base = filter.apply(compiled.query());
+        boolean ranked = feedRanking.ranked(sortMode);
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(ranked ? feedRanking.inline(base) : base)
+                .withPointInTime(new Query.PointInTime(pitId, keepAlive))
+                .withPageable(PageRequest.of(0, size + 1))
+                .withTrackTotalHits(false)
+                .withSourceFilter(SEARCH_ITEM_SOURCE)
+                .withHighlightQuery(snippetHighlight())
+                // 동점 정렬은 PIT 검색에 ES가 자동으로 붙이는 _shard_doc이 맡음. id를 덧붙이면 RECENT 정렬이
+                // 인덱스 정렬(createdAt desc)과 달라져 상위 size건을 찾은 뒤 세그먼트 읽기를 멈추는 최적화가 꺼짐
+                .withSort(sortMode.sort());
+        if (current != null) {
+            builder.withSearchAfter(current.searchAfter());
+        }
+
+        SearchHits<TransactionFeedDocument> searchHits = timedSearch(builder.build(), indices, compiled.parsed());
+        List<SearchHit<TransactionFeedDocument>> hits = searchHits.getSearchHits();
+        boolean hasNext = hits.size() > size;
+        List<SearchHit<TransactionFeedDocument>> pageHits = hasNext ? hits.subList(0, size) : hits;
+        // ES가 keep-alive를 연장하며 PIT ID를 바꿀 수 있으므로 응답의 값을 사용
+        String nextPitId = searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : pitId;
+
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = new SearchCursor(query, filter, sortMode, nextPitId, pageHits.getLast().getSortValues()).encode();
+        } else {
+            concurrencyLimiter.withElasticsearch(() -> elasticsearchOperations.closePointInTime(nextPitId));
+        }
+
+        return FeedDto.CursorPage.builder()
+                .content(pageHits.stream().map(this::toSearchItem).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 본문 snippet을 ES highlighter로 받아옵니다. 일치하는 부분이 없어도 no_match_size만큼 본문 앞부분을 돌려주므로
+     * content를 _source로 받지 않고도 목록에 필요한 발췌를 만들 수 있습니다.
+     */
+    private HighlightQuery snippetHighlight() {
+        FeedSearchProperties.Snippet config = searchProperties.getSnippet();
+        String[] preTags = config.isHighlight() ? new String[]{"<em>"} : new String[]{""};
+        String[] postTags = config.isHighlight() ? new String[]{"</em>"} : new String[]{""};
+        HighlightFieldParameters content = HighlightFieldParameters.builder()
+                .withFragmentSize(config.getLength())
+                .withNumberOfFragments(1)
+                .withNoMatchSize(config.getLength())
+                .withPreTags(preTags)
+                .withPostTags(postTags)
+                .build();
+        // 본문은 사용자가 쓴 텍스트이므로 html encoder로 이스케이프해 <em> 외의 마크업이 섞여 나가지 않게 함
+        HighlightParameters parameters = HighlightParameters.builder().withEncoder("html").build();
+        Highlight highlight = new Highlight(parameters, List.of(new HighlightField("content", content)));
+        return new HighlightQuery(highlight, TransactionFeedDocument.class);
+    }
 
-        // ... (이하 동일)
-        SearchHits<TransactionFeedDocument> searchHits = elasticsearchOperations.search(query, TransactionFeedDocument.class);
-        Page<TransactionFeedDocument> page = org.springframework.data.support.PageableExecutionUtils.getPage(
-                searchHits.getSearchHits().stream().map(SearchHit::getContent).collect(Collectors.toList()),
-                pageable,
-                searchHits::getTotalHits
-        );
-        return page.map(FeedDto.Response::from);
+    private FeedDto.SearchItem toSearchItem(SearchHit<TransactionFeedDocument> hit) {
+        List<String> fragments = hit.getHighlightField("content");
+        return FeedDto.SearchItem.from(hit.getContent(), fragments.isEmpty() ? null : fragments.getFirst());
     }
-}
\ No newline at end of file
+}
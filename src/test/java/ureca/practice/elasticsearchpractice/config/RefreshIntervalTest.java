@@ -0,0 +1,27 @@
+package ureca.practice.elasticsearchpractice.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ureca.practice.elasticsearchpractice.config.FeedIndexingProperties.Consistency.parseRefreshInterval;
+
+class RefreshIntervalTest {
+
+    @Test
+    void parsesElasticsearchTimeValues() {
+        assertThat(parseRefreshInterval("500ms")).isEqualTo(Duration.ofMillis(500));
+        assertThat(parseRefreshInterval("1s")).isEqualTo(Duration.ofSeconds(1));
+        assertThat(parseRefreshInterval("2m")).isEqualTo(Duration.ofMinutes(2));
+        assertThat(parseRefreshInterval("-1")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedValues() {
+        assertThatThrownBy(() -> parseRefreshInterval("1 sec")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parseRefreshInterval("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parseRefreshInterval(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
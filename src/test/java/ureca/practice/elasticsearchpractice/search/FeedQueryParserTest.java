@@ -0,0 +1,54 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedQueryParserTest {
+
+    private final FeedQueryParser parser = new FeedQueryParser();
+
+    @Test
+    void normalizeCollapsesWhitespaceAndJoinsUnits() {
+        assertThat(FeedQueryParser.normalize("  SKT   10 기가  ")).isEqualTo("skt 10기가");
+    }
+
+    @Test
+    void classifiesStructuredTokens() {
+        ParsedQuery parsed = parser.parse(FeedQueryParser.normalize("에스케이티 10기가 500MB 판매중 급처"));
+
+        assertThat(parsed.telecoms()).containsExactly("SKT");
+        assertThat(parsed.dataSizesMb()).containsExactly(10000L, 500L);
+        assertThat(parsed.dataWords()).containsExactly("10기가", "500mb");
+        assertThat(parsed.progresses()).containsExactly("SELLING");
+        assertThat(parsed.textWords()).containsExactly("급처");
+        assertThat(parsed.hasPriceRange()).isFalse();
+    }
+
+    @Test
+    void parsesPriceBoundsAndRanges() {
+        ParsedQuery upper = parser.parse(FeedQueryParser.normalize("KT 1만원이하"));
+        assertThat(upper.minPrice()).isNull();
+        assertThat(upper.maxPrice()).isEqualTo(10000L);
+
+        ParsedQuery range = parser.parse(FeedQueryParser.normalize("5000~1만원"));
+        assertThat(range.minPrice()).isEqualTo(5000L);
+        assertThat(range.maxPrice()).isEqualTo(10000L);
+    }
+
+    @Test
+    void numbersWithoutUnitStayAsText() {
+        ParsedQuery parsed = parser.parse(FeedQueryParser.normalize("아이폰 15"));
+
+        assertThat(parsed.textWords()).containsExactly("아이폰", "15");
+        assertThat(parsed.dataSizesMb()).isEmpty();
+    }
+
+    @Test
+    void templateHidesFreeTextWords() {
+        ParsedQuery parsed = parser.parse(FeedQueryParser.normalize("KT 10기가 1만원이하 급처 아이폰"));
+
+        assertThat(parsed.template()).isEqualTo("telecom=[KT] data=[10000MB] price=..10000 text=[?, ?]");
+        assertThat(parser.parse("").template()).isEqualTo("match-all");
+    }
+}
@@ -0,0 +1,58 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import org.junit.jupiter.api.Test;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties.Ranking.Mode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedRankingTest {
+
+    private final FeedQueryParser parser = new FeedQueryParser();
+
+    @Test
+    void rescoreAppliesToQueriesWithScoringWords() {
+        FeedRanking ranking = ranking(Mode.RESCORE);
+
+        assertThat(ranking.mode(SortMode.RELEVANCE, parse("급처 데이터"), 20)).isEqualTo(Mode.RESCORE);
+        assertThat(ranking.mode(SortMode.RELEVANCE, parse("SKT 10기가"), 20)).isEqualTo(Mode.RESCORE);
+    }
+
+    @Test
+    void filterOnlyQueriesFallBackToInline() {
+        FeedRanking ranking = ranking(Mode.RESCORE);
+
+        assertThat(ranking.mode(SortMode.RELEVANCE, parse(""), 20)).isEqualTo(Mode.INLINE);
+        assertThat(ranking.mode(SortMode.RELEVANCE, parse("KT 판매중 1만원이하"), 20)).isEqualTo(Mode.INLINE);
+    }
+
+    @Test
+    void pagesBeyondRescoreWindowFallBackToInline() {
+        FeedRanking ranking = ranking(Mode.RESCORE);
+
+        assertThat(ranking.mode(SortMode.RELEVANCE, parse("급처"), 100)).isEqualTo(Mode.RESCORE);
+        assertThat(ranking.mode(SortMode.RELEVANCE, parse("급처"), 120)).isEqualTo(Mode.INLINE);
+    }
+
+    @Test
+    void nonRelevanceSortsAreNotRanked() {
+        assertThat(ranking(Mode.RESCORE).mode(SortMode.RECENT, parse("급처"), 20)).isEqualTo(Mode.NONE);
+        assertThat(ranking(Mode.INLINE).mode(SortMode.PRICE_ASC, parse(""), 20)).isEqualTo(Mode.NONE);
+    }
+
+    @Test
+    void configuredModeIsKeptOtherwise() {
+        assertThat(ranking(Mode.INLINE).mode(SortMode.RELEVANCE, parse(""), 20)).isEqualTo(Mode.INLINE);
+        assertThat(ranking(Mode.NONE).mode(SortMode.RELEVANCE, parse(""), 20)).isEqualTo(Mode.NONE);
+    }
+
+    private ParsedQuery parse(String query) {
+        return parser.parse(FeedQueryParser.normalize(query));
+    }
+
+    private static FeedRanking ranking(Mode mode) {
+        FeedSearchProperties properties = new FeedSearchProperties();
+        properties.getRanking().setMode(mode);
+        return new FeedRanking(properties);
+    }
+}
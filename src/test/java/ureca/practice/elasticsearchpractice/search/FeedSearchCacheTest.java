@@ -0,0 +1,53 @@
+package ureca.practice.elasticsearchpractice.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ureca.practice.elasticsearchpractice.config.FeedSearchProperties;
+import ureca.practice.elasticsearchpractice.dto.FeedDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedSearchCacheTest {
+
+    private final FeedSearchCache cache = new FeedSearchCache(new FeedSearchProperties());
+    private final Pageable pageable = PageRequest.of(0, 20);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void visibleChangeInvalidatesImmediately() {
+        search();
+        search();
+        assertThat(loads).hasValue(1);
+
+        cache.invalidateAfter(Duration.ZERO);
+        search();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void pendingRefreshKeepsCachedPagesUntilVisible() throws InterruptedException {
+        search();
+
+        cache.invalidateAfter(Duration.ofMillis(200));
+        search();
+        assertThat(loads).hasValue(1);
+
+        Thread.sleep(600);
+        search();
+        assertThat(loads).hasValue(2);
+    }
+
+    private Page<FeedDto.SearchItem> search() {
+        return cache.get("급처", SearchFilter.NONE, SortMode.RELEVANCE, pageable, () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of(), pageable, 0);
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CdcBufferTest {
+
+    private static final CdcBuffer.BinlogPosition POSITION = new CdcBuffer.BinlogPosition("mysql-bin.000001", 1200);
+
+    @Test
+    void coalescesRepeatedIds() {
+        CdcBuffer buffer = new CdcBuffer();
+        buffer.add("a");
+        buffer.add("b");
+        buffer.add("a");
+        buffer.commit(POSITION);
+
+        CdcBuffer.Batch batch = buffer.drain(10);
+
+        assertThat(batch.ids()).containsExactly("a", "b");
+        assertThat(batch.position()).isEqualTo(POSITION);
+    }
+
+    @Test
+    void withholdsPositionUntilBufferIsDrained() {
+        CdcBuffer buffer = new CdcBuffer();
+        buffer.add("a");
+        buffer.add("b");
+        buffer.commit(POSITION);
+
+        CdcBuffer.Batch first = buffer.drain(1);
+        CdcBuffer.Batch second = buffer.drain(1);
+
+        assertThat(first.ids()).containsExactly("a");
+        assertThat(first.position()).isNull();
+        assertThat(second.ids()).containsExactly("b");
+        assertThat(second.position()).isEqualTo(POSITION);
+    }
+
+    @Test
+    void failedIdsAreRequeuedAndBlockCheckpoint() {
+        CdcBuffer buffer = new CdcBuffer();
+        buffer.add("a");
+        buffer.add("b");
+        buffer.commit(POSITION);
+
+        CdcBuffer.Batch batch = buffer.drain(10);
+        List<String> exhausted = buffer.complete(batch.ids(), Set.of("a"), 3);
+
+        assertThat(exhausted).isEmpty();
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.drain(10).ids()).isEqualTo(List.of("a"));
+    }
+
+    @Test
+    void idFailingMaxAttemptsTimesIsReleased() {
+        CdcBuffer buffer = new CdcBuffer();
+        buffer.add("a");
+        buffer.commit(POSITION);
+
+        List<String> exhausted = List.of();
+        for (int i = 0; i < 3; i++) {
+            CdcBuffer.Batch batch = buffer.drain(10);
+            exhausted = buffer.complete(batch.ids(), Set.of("a"), 3);
+        }
+
+        assertThat(exhausted).containsExactly("a");
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drain(10).position()).isEqualTo(POSITION);
+    }
+
+    @Test
+    void successResetsAttempts() {
+        CdcBuffer buffer = new CdcBuffer();
+        buffer.add("a");
+        buffer.complete(buffer.drain(10).ids(), Set.of("a"), 2);
+        buffer.complete(buffer.drain(10).ids(), Set.of(), 2);
+
+        buffer.add("a");
+        List<String> exhausted = buffer.complete(buffer.drain(10).ids(), Set.of("a"), 2);
+
+        assertThat(exhausted).isEmpty();
+    }
+}
@@ -0,0 +1,52 @@
+package ureca.practice.elasticsearchpractice.service;
+
+import org.junit.jupiter.api.Test;
+import ureca.practice.elasticsearchpractice.search.SearchFilter;
+import ureca.practice.elasticsearchpractice.search.SortMode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        SearchCursor cursor = new SearchCursor("SKT 10기가", new SearchFilter(5000L, null, null, 20000, LocalDate.of(2026, 9, 1), null, true),
+                SortMode.PRICE_ASC, "pit-id", List.of(9000L, 1700000000000L, "feed-id"));
+
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void tokenHoldsOnlyRecordComponents() {
+        SearchCursor cursor = new SearchCursor("KT", SearchFilter.NONE, SortMode.RECENT, "pit-id", List.of(1700000000000L, 42L));
+
+        String json = new String(Base64.getUrlDecoder().decode(cursor.encode()), StandardCharsets.UTF_8);
+
+        assertThat(json).doesNotContain("\"empty\"", "\"createdRange\"");
+    }
+
+    @Test
+    void ignoresUnknownProperties() {
+        String json = "{\"query\":\"KT\",\"sortMode\":\"RECENT\",\"pitId\":\"pit-id\",\"searchAfter\":[1],\"removed\":true}";
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+
+        SearchCursor decoded = SearchCursor.decode(token);
+
+        assertThat(decoded.query()).isEqualTo("KT");
+        assertThat(decoded.filter()).isEqualTo(SearchFilter.NONE);
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThatThrownBy(() -> SearchCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}